@@ -0,0 +1,62 @@
+package io.bankingsystem.banking.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdScalarSerializer;
+import io.bankingsystem.banking.service.support.MoneyUnits;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.function.Function;
+
+/**
+ * Compact encodings for the binary (CBOR/Smile) mappers. Money goes as a long of minor units,
+ * timestamps as epoch microseconds in the server time zone and dates as epoch days.
+ * UUIDs are already written as 16 raw bytes by formats that support binary natively.
+ */
+public class CompactBinaryModule extends SimpleModule {
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    public CompactBinaryModule() {
+        super("CompactBinaryModule");
+        addScalar(BigDecimal.class, MoneyUnits::toMinorUnits, MoneyUnits::fromMinorUnits);
+        addScalar(LocalDateTime.class, CompactBinaryModule::toEpochMicros, CompactBinaryModule::fromEpochMicros);
+        addScalar(LocalDate.class, LocalDate::toEpochDay, LocalDate::ofEpochDay);
+    }
+
+    private <T> void addScalar(Class<T> type, Function<T, Long> encode, Function<Long, T> decode) {
+        addSerializer(type, new StdScalarSerializer<>(type) {
+            @Override
+            public void serialize(T value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+                gen.writeNumber(encode.apply(value));
+            }
+        });
+        addDeserializer(type, new StdScalarDeserializer<>(type) {
+            @Override
+            public T deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+                if (p.currentToken() != JsonToken.VALUE_NUMBER_INT) {
+                    return type.cast(ctxt.handleUnexpectedToken(type, p));
+                }
+                return decode.apply(p.getLongValue());
+            }
+        });
+    }
+
+    private static long toEpochMicros(LocalDateTime value) {
+        return ChronoUnit.MICROS.between(Instant.EPOCH, value.atZone(ZONE).toInstant());
+    }
+
+    private static LocalDateTime fromEpochMicros(long micros) {
+        return LocalDateTime.ofInstant(Instant.EPOCH.plus(micros, ChronoUnit.MICROS), ZONE);
+    }
+}
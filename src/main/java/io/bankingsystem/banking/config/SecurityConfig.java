@@ -1,28 +1,44 @@
 package io.bankingsystem.banking.config;
 
+import io.bankingsystem.banking.service.auth.TokenAuthenticationFilter;
+import io.bankingsystem.banking.service.auth.TokenService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.expression.WebExpressionAuthorizationManager;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 
 @Configuration
 public class SecurityConfig {
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, TokenService tokenService) throws Exception {
         http
                 .csrf().disable()
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
-                        .anyRequest().authenticated()
+                        .requestMatchers(HttpMethod.POST, "/auth/login", "/auth/refresh").permitAll()
+                        .requestMatchers(HttpMethod.GET).authenticated()
+                        // Source account ownership is checked in TransactionController.
+                        .requestMatchers(HttpMethod.POST, "/transactions/create", "/transactions/batch").authenticated()
+                        .requestMatchers(HttpMethod.PATCH, "/customers/address/{id}", "/customers/phone-number/{id}",
+                                "/customers/email/{id}", "/customers/password/{id}")
+                                .access(new WebExpressionAuthorizationManager("hasRole('ADMIN') or #id == authentication.name"))
+                        .anyRequest().hasRole("ADMIN")
                 )
+                .addFilterBefore(new TokenAuthenticationFilter(tokenService), BasicAuthenticationFilter.class)
                 .httpBasic();
 
         return http.build();
     }
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${banking.passwords.bcrypt-strength:10}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 }
@@ -1,14 +1,26 @@
 package io.bankingsystem.banking.controller;
 
+import io.bankingsystem.banking.model.dto.AccountBalanceDto;
 import io.bankingsystem.banking.model.dto.AccountCardsDto;
 import io.bankingsystem.banking.model.dto.AccountDto;
+import io.bankingsystem.banking.model.dto.AccountStatementDto;
 import io.bankingsystem.banking.model.dto.AccountTransactionsDto;
 import io.bankingsystem.banking.service.services.AccountService;
+import io.bankingsystem.banking.service.services.AccountStatementService;
+import io.bankingsystem.banking.service.services.BalanceSnapshotService;
+import io.bankingsystem.banking.service.support.CachedAccount;
+import io.bankingsystem.banking.service.support.ETags;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
@@ -18,64 +30,154 @@ import java.util.UUID;
 @RequestMapping("/accounts")
 public class AccountController {
     private final AccountService accountService;
+    private final AccountStatementService accountStatementService;
+    private final BalanceSnapshotService balanceSnapshotService;
 
-    public AccountController(AccountService accountService) {
+    public AccountController(AccountService accountService, AccountStatementService accountStatementService, BalanceSnapshotService balanceSnapshotService) {
         this.accountService = accountService;
+        this.accountStatementService = accountStatementService;
+        this.balanceSnapshotService = balanceSnapshotService;
     }
 
     @GetMapping
-    public ResponseEntity<List<AccountDto>> getAllAccounts() {
+    public ResponseEntity<?> getAllAccounts(@RequestParam(required = false) String fields,
+                                            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try{
+        String etag = accountService.getAccountsETag(fields);
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        if (fields != null) {
+            return ResponseEntity.ok().eTag(etag).body(accountService.getAllAccounts(fields));
+        }
         List<AccountDto> accounts = accountService.getAllAccounts();
-        return ResponseEntity.ok(accounts);
+        return ResponseEntity.ok().eTag(etag).body(accounts);
+    }catch (IllegalArgumentException e){
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
     }catch (Exception e){
         return ResponseEntity.status(HttpStatus.NOT_FOUND).build();}
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<AccountDto> getAccountById(@PathVariable UUID id) {
+    public ResponseEntity<AccountDto> getAccountById(@PathVariable UUID id,
+                                                     @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
-            AccountDto account = accountService.getAccountById(id);
-            return ResponseEntity.ok(account);
+            CachedAccount account = accountService.getCachedAccount(id);
+            String etag = accountService.getAccountETag(account.getAccount());
+            if (ETags.matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+            return ResponseEntity.ok()
+                    .eTag(etag)
+                    .header("X-Balance-Version", String.valueOf(account.getVersion()))
+                    .header("X-Balance-As-Of", account.getAsOf().toString())
+                    .body(account.getAccount());
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         }
     }
 
+    @GetMapping("/{id}/statement")
+    public ResponseEntity<?> getAccountStatement(
+            @PathVariable UUID id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limit
+    ) {
+        try {
+            AccountStatementDto statement = accountStatementService.getStatement(id, from, to, cursor, limit);
+            return ResponseEntity.ok(statement);
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/{id}/balance")
+    public ResponseEntity<?> getAccountBalanceAt(
+            @PathVariable UUID id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at
+    ) {
+        try {
+            AccountBalanceDto balance = balanceSnapshotService.getBalanceAt(id, at);
+            return ResponseEntity.ok(balance);
+        } catch (EntityNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/snapshots")
+    public ResponseEntity<?> createBalanceSnapshots(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        try {
+            int accounts = balanceSnapshotService.snapshotDay(date);
+            return ResponseEntity.ok(Map.of("snapshotDate", date, "accounts", accounts));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
     @GetMapping("/cards")
-    public ResponseEntity<List<AccountCardsDto>> getAccountWithCards() {
+    public ResponseEntity<List<AccountCardsDto>> getAccountWithCards(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
+            String etag = accountService.getAccountsWithCardsETag();
+            if (ETags.matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
             List<AccountCardsDto> accountCardsDto = accountService.getAccountsWithCards();
-            return ResponseEntity.ok(accountCardsDto);
+            return ResponseEntity.ok().eTag(etag).body(accountCardsDto);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         }
     }
 
     @GetMapping("/cards/{id}")
-    public ResponseEntity<AccountCardsDto> getAccountWithCardsById(@PathVariable UUID id) {
+    public ResponseEntity<AccountCardsDto> getAccountWithCardsById(@PathVariable UUID id,
+                                                                   @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
+            String etag = accountService.getAccountWithCardsETag(id);
+            if (ETags.matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
             AccountCardsDto accountCards = accountService.getAccountWithCardsById(id);
-            return ResponseEntity.ok(accountCards);
+            return ResponseEntity.ok().eTag(etag).body(accountCards);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         }
     }
 
     @GetMapping("/transactions")
-    public ResponseEntity<List<AccountTransactionsDto>> getAccountWithTransactions() {
+    public ResponseEntity<List<AccountTransactionsDto>> getAccountWithTransactions(@RequestParam(defaultValue = "20") int limit) {
         try{
-        List<AccountTransactionsDto> accountTransactionsDtos = accountService.getAccountsWithTransactions();
+        List<AccountTransactionsDto> accountTransactionsDtos = accountService.getAccountsWithTransactions(limit);
         return ResponseEntity.ok(accountTransactionsDtos);
+    }catch (IllegalArgumentException e){
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
     }catch (Exception e){
         return ResponseEntity.status(HttpStatus.NOT_FOUND).build();}
     }
 
+    @GetMapping(value = "/transactions", params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamAccountsWithTransactions(@RequestParam(defaultValue = "20") int limit) {
+        try {
+            accountService.validateTransactionLimit(limit);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+        StreamingResponseBody body = outputStream -> accountService.streamAccountsWithTransactions(limit, outputStream);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
     @GetMapping("/transaction/{id}")
-    public ResponseEntity<AccountTransactionsDto> getAccountWithTransactionsById(@PathVariable UUID id) {
+    public ResponseEntity<AccountTransactionsDto> getAccountWithTransactionsById(@PathVariable UUID id, @RequestParam(defaultValue = "20") int limit) {
         try {
-            AccountTransactionsDto accountTransactions = accountService.getAccountWithTransactionsById(id);
+            AccountTransactionsDto accountTransactions = accountService.getAccountWithTransactionsById(id, limit);
             return ResponseEntity.ok(accountTransactions);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         }
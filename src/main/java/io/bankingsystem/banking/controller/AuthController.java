@@ -0,0 +1,45 @@
+package io.bankingsystem.banking.controller;
+
+import io.bankingsystem.banking.model.dto.LoginRequestDto;
+import io.bankingsystem.banking.model.dto.RefreshRequestDto;
+import io.bankingsystem.banking.model.dto.TokenResponseDto;
+import io.bankingsystem.banking.service.services.AuthService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.concurrent.RejectedExecutionException;
+
+@RestController
+@RequestMapping("/auth")
+public class AuthController {
+    private final AuthService authService;
+
+    public AuthController(AuthService authService) {
+        this.authService = authService;
+    }
+
+    @PostMapping("/login")
+    public ResponseEntity<?> login(@RequestBody LoginRequestDto loginRequest) {
+        try {
+            TokenResponseDto tokens = authService.login(loginRequest);
+            return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(tokens);
+        } catch (AuthenticationException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(@RequestBody RefreshRequestDto refreshRequest) {
+        try {
+            TokenResponseDto tokens = authService.refresh(refreshRequest);
+            return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(tokens);
+        } catch (AuthenticationException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
+        }
+    }
+}
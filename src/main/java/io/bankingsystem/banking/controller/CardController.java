@@ -3,8 +3,10 @@ package io.bankingsystem.banking.controller;
 import io.bankingsystem.banking.model.dto.CardDto;
 import io.bankingsystem.banking.service.services.CardService;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.UUID;
@@ -27,6 +29,12 @@ public class CardController {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).build();}
     }
 
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamAllCards() {
+        StreamingResponseBody body = cardService::streamAllCards;
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<CardDto> getCardById(@PathVariable UUID id) {
         try {
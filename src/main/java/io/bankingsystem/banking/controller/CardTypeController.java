@@ -5,6 +5,7 @@ import io.bankingsystem.banking.service.services.CardTypeService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -29,4 +30,13 @@ public class CardTypeController {
         }
 
     }
+
+    @PostMapping("/reload")
+    public ResponseEntity<List<CardTypeDto>> reloadCardTypes() {
+        try {
+            return ResponseEntity.ok(cardTypeService.reloadCardTypes());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
 }
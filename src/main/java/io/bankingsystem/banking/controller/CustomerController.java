@@ -4,13 +4,18 @@ import io.bankingsystem.banking.model.dto.CustomerAccountsCardsDto;
 import io.bankingsystem.banking.model.dto.CustomerAccountsDto;
 import io.bankingsystem.banking.model.dto.CustomerDto;
 import io.bankingsystem.banking.service.services.CustomerService;
+import io.bankingsystem.banking.service.support.ETags;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/customers")
@@ -22,9 +27,21 @@ public class CustomerController {
     }
 
     @GetMapping
-    public ResponseEntity<List<CustomerDto>> getAllCustomers() {
-        List<CustomerDto> customers = customerService.getAllCustomers();
-        return ResponseEntity.ok(customers);
+    public ResponseEntity<?> getAllCustomers(@RequestParam(required = false) String fields,
+                                             @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        try {
+            String etag = customerService.getCustomersETag(fields);
+            if (ETags.matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+            if (fields != null) {
+                return ResponseEntity.ok().eTag(etag).body(customerService.getAllCustomers(fields));
+            }
+            List<CustomerDto> customers = customerService.getAllCustomers();
+            return ResponseEntity.ok().eTag(etag).body(customers);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
     }
 
     @GetMapping("/young")
@@ -40,50 +57,82 @@ public class CustomerController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<CustomerDto> getCustomerById(@PathVariable UUID id) {
+    public ResponseEntity<CustomerDto> getCustomerById(@PathVariable UUID id,
+                                                       @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
             CustomerDto customer = customerService.getCustomerById(id);
-            return ResponseEntity.ok(customer);
+            String etag = customerService.getCustomerETag(customer);
+            if (ETags.matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+            return ResponseEntity.ok().eTag(etag).body(customer);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         }
     }
 
     @GetMapping("/accounts")
-    public ResponseEntity<List<CustomerAccountsDto>> getCustomersWithAccounts() {
+    public ResponseEntity<List<CustomerAccountsDto>> getCustomersWithAccounts(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
+            String etag = customerService.getCustomersWithAccountsETag();
+            if (ETags.matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
             List<CustomerAccountsDto> customers = customerService.getCustomersWithAccounts();
-            return ResponseEntity.ok(customers);
+            return ResponseEntity.ok().eTag(etag).body(customers);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         }
     }
 
     @GetMapping("/accounts/{id}")
-    public ResponseEntity<CustomerAccountsDto> getCustomerWithAccountsById(@PathVariable UUID id) {
+    public ResponseEntity<CustomerAccountsDto> getCustomerWithAccountsById(@PathVariable UUID id,
+                                                                           @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
+            String etag = customerService.getCustomerWithAccountsETag(id);
+            if (ETags.matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
             CustomerAccountsDto customerAccounts = customerService.getCustomerWithAccountsById(id);
-            return ResponseEntity.ok(customerAccounts);
+            return ResponseEntity.ok().eTag(etag).body(customerAccounts);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         }
     }
 
     @GetMapping("/accounts/cards")
-    public ResponseEntity<List<CustomerAccountsCardsDto>> getCustomersAccountsCards() {
+    public ResponseEntity<List<CustomerAccountsCardsDto>> getCustomersAccountsCards(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try{
+            String etag = customerService.getCustomersAccountsCardsETag();
+            if (ETags.matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
             List<CustomerAccountsCardsDto> customers = customerService.getCustomersAccountsCards();
-        return ResponseEntity.ok(customers);
+        return ResponseEntity.ok().eTag(etag).body(customers);
     }catch (Exception e){
         return ResponseEntity.status(HttpStatus.NOT_FOUND).build();}
     }
 
+    @GetMapping(value = "/accounts/cards", params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> streamCustomersAccountsCards(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String etag = customerService.getCustomersAccountsCardsETag();
+        if (ETags.matches(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        StreamingResponseBody body = customerService::streamCustomersAccountsCards;
+        return ResponseEntity.ok().eTag(etag).contentType(MediaType.APPLICATION_JSON).body(body);
+    }
 
     @GetMapping("/accounts-cards/{id}")
-    public ResponseEntity<CustomerAccountsCardsDto> getCustomerAccountsCardsById(@PathVariable UUID id) {
+    public ResponseEntity<CustomerAccountsCardsDto> getCustomerAccountsCardsById(@PathVariable UUID id,
+                                                                                 @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
+            String etag = customerService.getCustomerAccountsCardsETag(id);
+            if (ETags.matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
             CustomerAccountsCardsDto customer = customerService.getCustomerAccountsCardsById(id);
-            return ResponseEntity.ok(customer);
+            return ResponseEntity.ok().eTag(etag).body(customer);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         }
@@ -95,6 +144,8 @@ public class CustomerController {
         try {
             CustomerDto createdCustomer = customerService.createCustomer(customerDto);
             return ResponseEntity.status(HttpStatus.CREATED).body(createdCustomer);
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
@@ -105,6 +156,8 @@ public class CustomerController {
         try {
             CustomerDto updatedCustomer = customerService.updateCustomerById(id, customerDto);
             return ResponseEntity.ok(updatedCustomer);
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         }
@@ -162,6 +215,8 @@ public class CustomerController {
             String newPassword = passwordUpdate.get("password");
             CustomerDto updatedCustomer = customerService.updateCustomerPassword(id, newPassword);
             return ResponseEntity.ok(updatedCustomer);
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
         }
@@ -1,31 +1,106 @@
 package io.bankingsystem.banking.controller;
 
+import io.bankingsystem.banking.model.dto.TransactionAnalyticsDto;
+import io.bankingsystem.banking.model.dto.TransactionBatchResultDto;
 import io.bankingsystem.banking.model.dto.TransactionDto;
+import io.bankingsystem.banking.model.dto.TransactionFilterDto;
+import io.bankingsystem.banking.model.dto.TransactionPageDto;
+import io.bankingsystem.banking.model.enum_fields.ExportFormat;
+import io.bankingsystem.banking.service.auth.CustomerAccess;
+import io.bankingsystem.banking.service.services.TransactionAnalyticsService;
+import io.bankingsystem.banking.service.services.TransactionBatchService;
+import io.bankingsystem.banking.service.services.TransactionExportService;
 import io.bankingsystem.banking.service.services.TransactionService;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
 
 @RestController
 @RequestMapping("/transactions")
 public class TransactionController {
 
     private final TransactionService transactionService;
+    private final TransactionBatchService transactionBatchService;
+    private final TransactionExportService transactionExportService;
+    private final TransactionAnalyticsService transactionAnalyticsService;
+    private final CustomerAccess customerAccess;
 
-    public TransactionController(TransactionService transactionService) {
+    public TransactionController(TransactionService transactionService, TransactionBatchService transactionBatchService, TransactionExportService transactionExportService, TransactionAnalyticsService transactionAnalyticsService, CustomerAccess customerAccess) {
         this.transactionService = transactionService;
+        this.transactionBatchService = transactionBatchService;
+        this.transactionExportService = transactionExportService;
+        this.transactionAnalyticsService = transactionAnalyticsService;
+        this.customerAccess = customerAccess;
     }
 
     @GetMapping
-    public ResponseEntity<List<TransactionDto>>getAllTransactions() {
-        List<TransactionDto> transactions = transactionService.getAllTransactions();
-        return ResponseEntity.ok(transactions);
+    public ResponseEntity<?> getTransactions(TransactionFilterDto filter,
+                                             @RequestParam(required = false) String cursor,
+                                             @RequestParam(defaultValue = "50") int limit) {
+        try {
+            TransactionPageDto transactions = transactionService.getTransactions(filter, cursor, limit);
+            return ResponseEntity.ok(transactions);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
     }
     
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(TransactionFilterDto filter,
+                                                                    @RequestParam(defaultValue = "ndjson") String format,
+                                                                    @RequestParam(defaultValue = "false") boolean gzip) {
+        ExportFormat exportFormat;
+        try {
+            exportFormat = ExportFormat.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            byte[] message = ("Unsupported export format: " + format).getBytes(StandardCharsets.UTF_8);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .contentType(MediaType.TEXT_PLAIN)
+                    .body(outputStream -> outputStream.write(message));
+        }
+
+        String fileName = "transactions." + exportFormat.name().toLowerCase(Locale.ROOT) + (gzip ? ".gz" : "");
+        MediaType contentType = gzip ? MediaType.parseMediaType("application/gzip")
+                : exportFormat == ExportFormat.CSV ? MediaType.parseMediaType("text/csv;charset=UTF-8")
+                : MediaType.parseMediaType("application/x-ndjson");
+        StreamingResponseBody body = outputStream -> transactionExportService.export(filter, exportFormat, gzip, outputStream);
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(body);
+    }
+
+    @GetMapping("/analytics")
+    public ResponseEntity<?> getTransactionAnalytics(
+            @RequestParam(required = false) String window,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to
+    ) {
+        try {
+            TransactionAnalyticsDto analytics = window != null
+                    ? transactionAnalyticsService.getAnalytics(window)
+                    : transactionAnalyticsService.getAnalytics(from, to);
+            return ResponseEntity.ok(analytics);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        }
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<TransactionDto> getTransactionById(@PathVariable UUID id) {
         try {
@@ -37,16 +112,39 @@ public class TransactionController {
     }
 
     @PostMapping("/create")
-    public ResponseEntity<?> createTransaction(@RequestBody TransactionDto transactionDto) {
+    public ResponseEntity<?> createTransaction(@RequestBody TransactionDto transactionDto,
+                                               @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+                                               Authentication authentication) {
+        if (!customerAccess.ownsAccounts(authentication, Collections.singleton(transactionDto.getAccountId()))) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Transactions can only be made from your own accounts");
+        }
         try {
-            TransactionDto createdTransaction = transactionService.createTransaction(transactionDto);
+            TransactionDto createdTransaction = transactionService.createTransaction(transactionDto, idempotencyKey);
             return ResponseEntity.status(HttpStatus.CREATED).body(createdTransaction);
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(e.getMessage());
         } catch (EntityNotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
-        } catch (IllegalStateException e) {
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<?> createTransactions(@RequestBody List<TransactionDto> transactionDtos, Authentication authentication) {
+        if (transactionDtos != null && !customerAccess.ownsAccounts(authentication,
+                transactionDtos.stream().filter(Objects::nonNull).map(TransactionDto::getAccountId).toList())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Transactions can only be made from your own accounts");
+        }
+        try {
+            List<TransactionBatchResultDto> results = transactionBatchService.createTransactions(transactionDtos);
+            return ResponseEntity.ok(results);
+        } catch (IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(e.getMessage());
         }
     }
-}
+}
\ No newline at end of file
@@ -0,0 +1,23 @@
+package io.bankingsystem.banking.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+
+public class AccountBalanceDto {
+    private UUID accountId;
+    private LocalDateTime at;
+    private BigDecimal balance;
+    private LocalDate snapshotDate;
+}
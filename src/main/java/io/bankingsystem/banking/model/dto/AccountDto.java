@@ -2,6 +2,7 @@ package io.bankingsystem.banking.model.dto;
 
 import io.bankingsystem.banking.model.enum_fields.AccountStatus;
 import io.bankingsystem.banking.model.enum_fields.AccountType;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -25,4 +26,7 @@ public class AccountDto {
     private LocalDateTime accountDateClosed;
     private AccountStatus accountStatus;
     private UUID customerId;
+
+    @JsonIgnore
+    private Long version;
 }
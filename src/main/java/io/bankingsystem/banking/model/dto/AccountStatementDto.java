@@ -0,0 +1,27 @@
+package io.bankingsystem.banking.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+
+public class AccountStatementDto {
+    private UUID accountId;
+    private String accountNumber;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private BigDecimal openingBalance;
+    private BigDecimal closingBalance;
+    private List<StatementEntryDto> entries;
+    private String nextCursor;
+}
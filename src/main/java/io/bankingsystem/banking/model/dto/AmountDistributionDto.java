@@ -0,0 +1,21 @@
+package io.bankingsystem.banking.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+
+public class AmountDistributionDto {
+    private BigDecimal min;
+    private BigDecimal median;
+    private BigDecimal p90;
+    private BigDecimal p99;
+    private BigDecimal max;
+}
@@ -0,0 +1,19 @@
+package io.bankingsystem.banking.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+
+public class AnalyticsBucketDto {
+    private String key;
+    private long count;
+    private BigDecimal totalAmount;
+}
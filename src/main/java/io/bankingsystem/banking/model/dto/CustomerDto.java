@@ -1,6 +1,7 @@
 package io.bankingsystem.banking.model.dto;
 
 import io.bankingsystem.banking.model.enum_fields.CustomerRole;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -24,4 +25,7 @@ public class CustomerDto {
     private String customerAddress;
     private String customerPassword;
     private CustomerRole customerRole;
+
+    @JsonIgnore
+    private Long version;
 }
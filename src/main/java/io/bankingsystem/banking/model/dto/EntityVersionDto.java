@@ -0,0 +1,18 @@
+package io.bankingsystem.banking.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+
+public class EntityVersionDto {
+    private UUID id;
+    private Long version;
+}
@@ -0,0 +1,43 @@
+package io.bankingsystem.banking.model.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Rows of a sparse fieldset query. Written as a JSON array of objects holding only the
+ * requested properties, without building a map or DTO per row.
+ */
+@Getter
+@AllArgsConstructor
+@JsonSerialize(using = SparseRowsDto.Serializer.class)
+public class SparseRowsDto {
+    private List<String> fields;
+    private List<Object[]> rows;
+
+    static class Serializer extends StdSerializer<SparseRowsDto> {
+        Serializer() {
+            super(SparseRowsDto.class);
+        }
+
+        @Override
+        public void serialize(SparseRowsDto value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            List<String> fields = value.getFields();
+            gen.writeStartArray();
+            for (Object[] row : value.getRows()) {
+                gen.writeStartObject();
+                for (int i = 0; i < row.length; i++) {
+                    provider.defaultSerializeField(fields.get(i), row[i], gen);
+                }
+                gen.writeEndObject();
+            }
+            gen.writeEndArray();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package io.bankingsystem.banking.model.dto;
+
+import io.bankingsystem.banking.model.enum_fields.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+
+public class StatementEntryDto {
+    private UUID transactionId;
+    private LocalDateTime transactionDate;
+    private TransactionType transactionType;
+    private String transactionDescription;
+    private UUID counterpartyAccountId;
+    private BigDecimal transactionAmount;
+    private BigDecimal balanceChange;
+    private BigDecimal runningBalance;
+}
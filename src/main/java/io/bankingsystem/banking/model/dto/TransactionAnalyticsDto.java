@@ -0,0 +1,27 @@
+package io.bankingsystem.banking.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+
+public class TransactionAnalyticsDto {
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private long totalCount;
+    private BigDecimal totalAmount;
+    private List<AnalyticsBucketDto> byType;
+    private List<AnalyticsBucketDto> byDay;
+    private List<AnalyticsBucketDto> byAccountType;
+    private AmountDistributionDto amountDistribution;
+    private LocalDateTime computedAt;
+}
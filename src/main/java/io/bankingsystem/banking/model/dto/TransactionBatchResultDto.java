@@ -0,0 +1,19 @@
+package io.bankingsystem.banking.model.dto;
+
+import io.bankingsystem.banking.model.enum_fields.TransactionBatchStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+
+public class TransactionBatchResultDto {
+    private int index;
+    private TransactionBatchStatus status;
+    private TransactionDto transaction;
+    private String error;
+}
@@ -0,0 +1,56 @@
+package io.bankingsystem.banking.model.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@IdClass(AccountBalanceSnapshotId.class)
+@Table(name = "account_balance_snapshots")
+
+public class AccountBalanceSnapshotEntity implements Persistable<AccountBalanceSnapshotId> {
+    @Id
+    @Column(name = "account_id", columnDefinition = "BINARY(16)", nullable = false, updatable = false)
+    private UUID accountId;
+
+    @Id
+    @Column(name = "snapshot_date", nullable = false, updatable = false)
+    private LocalDate snapshotDate;
+
+    @Column(name = "closing_balance", nullable = false)
+    private BigDecimal closingBalance;
+
+    @Transient
+    private boolean persisted;
+
+    public AccountBalanceSnapshotEntity(UUID accountId, LocalDate snapshotDate, BigDecimal closingBalance) {
+        this.accountId = accountId;
+        this.snapshotDate = snapshotDate;
+        this.closingBalance = closingBalance;
+    }
+
+    @Override
+    public AccountBalanceSnapshotId getId() {
+        return new AccountBalanceSnapshotId(accountId, snapshotDate);
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
+    }
+}
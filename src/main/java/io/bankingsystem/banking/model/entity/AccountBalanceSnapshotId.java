@@ -0,0 +1,22 @@
+package io.bankingsystem.banking.model.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+
+public class AccountBalanceSnapshotId implements Serializable {
+    private UUID accountId;
+    private LocalDate snapshotDate;
+}
@@ -17,6 +17,7 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@NamedEntityGraph(name = "AccountEntity.customer", attributeNodes = @NamedAttributeNode("customer"))
 @Table(name = "accounts")
 
 public class AccountEntity {
@@ -45,7 +46,11 @@ public class AccountEntity {
     @Column(name = "account_status", length = 20, nullable = false)
     private AccountStatus accountStatus;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "customer_id", nullable = false)
     private CustomerEntity customer;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
 }
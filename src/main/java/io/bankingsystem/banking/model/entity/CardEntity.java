@@ -14,6 +14,10 @@ import java.util.UUID;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
+@NamedEntityGraph(name = "CardEntity.accountAndCardType", attributeNodes = {
+        @NamedAttributeNode("account"),
+        @NamedAttributeNode("cardType")
+})
 @Table(name = "cards")
 
 public class CardEntity {
@@ -31,11 +35,15 @@ public class CardEntity {
     @Column(name = "card_cvv", length = 3, nullable = false)
     private String cardCvv;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "card_type_id", nullable = false)
     private CardTypeEntity cardType;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "account_id", nullable = false)
     private AccountEntity account;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
 }
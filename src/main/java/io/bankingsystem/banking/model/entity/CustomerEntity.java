@@ -47,4 +47,8 @@ public class CustomerEntity{
     @Enumerated(EnumType.STRING)
     @Column(name = "customer_role", length = 20, nullable = false)
     private CustomerRole customerRole;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
 }
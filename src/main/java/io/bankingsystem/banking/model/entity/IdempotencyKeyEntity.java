@@ -0,0 +1,58 @@
+package io.bankingsystem.banking.model.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "idempotency_keys")
+
+public class IdempotencyKeyEntity implements Persistable<String> {
+    @Id
+    @Column(name = "idempotency_key", length = 255, nullable = false, updatable = false)
+    private String key;
+
+    @Column(name = "request_fingerprint", length = 64, nullable = false, updatable = false)
+    private String requestFingerprint;
+
+    @Column(name = "transaction_id", columnDefinition = "BINARY(16)", nullable = false, updatable = false)
+    private UUID transactionId;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Transient
+    private boolean persisted;
+
+    public IdempotencyKeyEntity(String key, String requestFingerprint, UUID transactionId, LocalDateTime createdAt) {
+        this.key = key;
+        this.requestFingerprint = requestFingerprint;
+        this.transactionId = transactionId;
+        this.createdAt = createdAt;
+    }
+
+    // Always persisted, never merged: a key that already exists must fail with a constraint violation.
+    @Override
+    public String getId() {
+        return key;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
+    }
+}
@@ -0,0 +1,53 @@
+package io.bankingsystem.banking.model.entity;
+
+import io.bankingsystem.banking.model.enum_fields.TransactionType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "ledger_dead_letters")
+
+public class LedgerDeadLetterEntity {
+    @Id
+    @Column(name = "transaction_id", columnDefinition = "BINARY(16)", nullable = false, updatable = false)
+    private UUID transactionId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "transaction_type", length = 20, nullable = false)
+    private TransactionType transactionType;
+
+    @Column(name = "transaction_amount", nullable = false)
+    private BigDecimal transactionAmount;
+
+    @Column(name = "transaction_date", nullable = false)
+    private LocalDateTime transactionDate;
+
+    @Column(name = "transaction_description", length = 100)
+    private String transactionDescription;
+
+    @Column(name = "transaction_destination", length = 100)
+    private String transactionDestination;
+
+    @Column(name = "account_id", columnDefinition = "BINARY(16)", nullable = false)
+    private UUID accountId;
+
+    @Column(name = "journal_sequence")
+    private Long journalSequence;
+
+    @Column(name = "failure_message", length = 1000)
+    private String failureMessage;
+
+    @Column(name = "failed_at", nullable = false)
+    private LocalDateTime failedAt;
+}
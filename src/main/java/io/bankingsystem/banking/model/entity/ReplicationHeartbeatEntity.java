@@ -0,0 +1,25 @@
+package io.bankingsystem.banking.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "replication_heartbeat")
+
+public class ReplicationHeartbeatEntity {
+    @Id
+    @Column(name = "id", nullable = false)
+    private Integer id;
+
+    @Column(name = "beat_at", nullable = false)
+    private LocalDateTime beatAt;
+}
@@ -16,7 +16,12 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "transactions")
+@NamedEntityGraph(name = "TransactionEntity.account", attributeNodes = @NamedAttributeNode("account"))
+@Table(name = "transactions", indexes = {
+        @Index(name = "idx_transactions_date_id", columnList = "transaction_date, id"),
+        @Index(name = "idx_transactions_account_date_id", columnList = "account_id, transaction_date, id"),
+        @Index(name = "idx_transactions_destination_date_id", columnList = "transaction_destination, transaction_date, id")
+})
 
 public class TransactionEntity {
     @Id
@@ -40,7 +45,7 @@ public class TransactionEntity {
     @Column(name = "transaction_destination", length = 100)
     private String transactionDestination;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "account_id", nullable = false)
     private AccountEntity account;
 }
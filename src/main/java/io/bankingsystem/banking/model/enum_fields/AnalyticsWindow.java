@@ -0,0 +1,5 @@
+package io.bankingsystem.banking.model.enum_fields;
+
+public enum AnalyticsWindow {
+    TODAY, LAST_7_DAYS, MONTH_TO_DATE
+}
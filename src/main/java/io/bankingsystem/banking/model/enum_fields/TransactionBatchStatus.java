@@ -0,0 +1,5 @@
+package io.bankingsystem.banking.model.enum_fields;
+
+public enum TransactionBatchStatus {
+    CREATED, REJECTED
+}
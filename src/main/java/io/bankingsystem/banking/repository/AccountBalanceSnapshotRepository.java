@@ -0,0 +1,17 @@
+package io.bankingsystem.banking.repository;
+
+import io.bankingsystem.banking.model.entity.AccountBalanceSnapshotEntity;
+import io.bankingsystem.banking.model.entity.AccountBalanceSnapshotId;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface AccountBalanceSnapshotRepository extends JpaRepository<AccountBalanceSnapshotEntity, AccountBalanceSnapshotId> {
+    Optional<AccountBalanceSnapshotEntity> findFirstByAccountIdAndSnapshotDateLessThanOrderBySnapshotDateDesc(UUID accountId, LocalDate date);
+    List<AccountBalanceSnapshotEntity> findBySnapshotDateAndAccountIdIn(LocalDate snapshotDate, Collection<UUID> accountIds);
+    void deleteByAccountId(UUID accountId);
+}
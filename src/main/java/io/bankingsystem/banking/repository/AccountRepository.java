@@ -1,13 +1,63 @@
 package io.bankingsystem.banking.repository;
 
+import io.bankingsystem.banking.model.dto.AccountDto;
+import io.bankingsystem.banking.model.dto.EntityVersionDto;
 import io.bankingsystem.banking.model.entity.AccountEntity;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface AccountRepository extends JpaRepository<AccountEntity, UUID> {
     List<AccountEntity> findByCustomerId(UUID customerId);
+
+    @Query("select a.id from AccountEntity a where a.customer.id = :customerId")
+    List<UUID> findIdsByCustomerId(@Param("customerId") UUID customerId);
+
+    List<AccountEntity> findByCustomerIdIn(Collection<UUID> customerIds);
+
+    long countByIdInAndCustomerId(Collection<UUID> ids, UUID customerId);
+
+    @Query("select a from AccountEntity a where :after is null or a.id > :after order by a.id")
+    List<AccountEntity> findChunkAfter(@Param("after") UUID after, Limit limit);
+
+    @Transactional(readOnly = true)
+    @Query("select new io.bankingsystem.banking.model.dto.AccountDto(a.id, a.accountNumber, a.accountType, a.accountCurrentBalance, " +
+            "a.accountDateOpened, a.accountDateClosed, a.accountStatus, a.customer.id, a.version) from AccountEntity a")
+    List<AccountDto> findAllDtos();
+
+    @Transactional(readOnly = true)
+    @Query("select new io.bankingsystem.banking.model.dto.AccountDto(a.id, a.accountNumber, a.accountType, a.accountCurrentBalance, " +
+            "a.accountDateOpened, a.accountDateClosed, a.accountStatus, a.customer.id, a.version) from AccountEntity a where a.id = :id")
+    Optional<AccountDto> findDtoById(@Param("id") UUID id);
+
+    @Transactional(readOnly = true)
+    @Query("select new io.bankingsystem.banking.model.dto.EntityVersionDto(a.id, a.version) from AccountEntity a order by a.id")
+    List<EntityVersionDto> findAllVersions();
+
+    @Transactional(readOnly = true)
+    @Query("select new io.bankingsystem.banking.model.dto.EntityVersionDto(a.id, a.version) from AccountEntity a where a.id = :id")
+    Optional<EntityVersionDto> findVersionById(@Param("id") UUID id);
+
+    @Transactional(readOnly = true)
+    @Query("select new io.bankingsystem.banking.model.dto.EntityVersionDto(a.id, a.version) from AccountEntity a " +
+            "where a.customer.id = :customerId order by a.id")
+    List<EntityVersionDto> findVersionsByCustomerId(@Param("customerId") UUID customerId);
+
     void deleteByCustomerId(UUID customerId);
 
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "3000"))
+    @Query("select a from AccountEntity a where a.id in :ids order by a.id")
+    List<AccountEntity> findAllByIdForUpdate(@Param("ids") Collection<UUID> ids);
 }
@@ -0,0 +1,150 @@
+package io.bankingsystem.banking.repository;
+
+import io.bankingsystem.banking.model.entity.TransactionEntity;
+import io.bankingsystem.banking.model.enum_fields.TransactionType;
+import io.bankingsystem.banking.service.support.TransactionCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.Root;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Repository
+public class AccountStatementRepository {
+    private final EntityManager entityManager;
+
+    public AccountStatementRepository(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    public List<TransactionEntity> findOutgoing(UUID accountId, LocalDateTime from, LocalDateTime to, TransactionCursor after, int limit) {
+        return findEntries(accountId, false, from, to, after, limit);
+    }
+
+    public List<TransactionEntity> findIncoming(UUID accountId, LocalDateTime from, LocalDateTime to, TransactionCursor after, int limit) {
+        return findEntries(accountId, true, from, to, after, limit);
+    }
+
+    public BigDecimal sumBalanceChanges(UUID accountId, LocalDateTime from, LocalDateTime to, TransactionCursor through) {
+        return sumOutgoing(accountId, from, to, through).add(sumIncoming(accountId, from, to, through));
+    }
+
+    public Map<UUID, BigDecimal> sumBalanceChangesSince(Collection<UUID> accountIds, LocalDateTime since) {
+        Map<UUID, BigDecimal> changes = new HashMap<>();
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<Tuple> outgoing = cb.createTupleQuery();
+        Root<TransactionEntity> source = outgoing.from(TransactionEntity.class);
+        outgoing.multiselect(source.get("account").get("id"), cb.sum(balanceChange(cb, source)))
+                .where(source.get("account").get("id").in(accountIds),
+                        cb.greaterThanOrEqualTo(source.get("transactionDate"), since))
+                .groupBy(source.get("account").get("id"));
+        for (Tuple row : entityManager.createQuery(outgoing).getResultList()) {
+            changes.merge(row.get(0, UUID.class), nullToZero(row.get(1, BigDecimal.class)), BigDecimal::add);
+        }
+
+        CriteriaQuery<Tuple> incoming = cb.createTupleQuery();
+        Root<TransactionEntity> destination = incoming.from(TransactionEntity.class);
+        incoming.multiselect(destination.get("transactionDestination"), cb.sum(destination.<BigDecimal>get("transactionAmount")))
+                .where(destination.get("transactionDestination").in(accountIds.stream().map(UUID::toString).toList()),
+                        cb.equal(destination.get("transactionType"), TransactionType.TRANSFER),
+                        cb.greaterThanOrEqualTo(destination.get("transactionDate"), since))
+                .groupBy(destination.get("transactionDestination"));
+        for (Tuple row : entityManager.createQuery(incoming).getResultList()) {
+            changes.merge(UUID.fromString(row.get(0, String.class)), nullToZero(row.get(1, BigDecimal.class)), BigDecimal::add);
+        }
+        return changes;
+    }
+
+    private List<TransactionEntity> findEntries(UUID accountId, boolean incoming, LocalDateTime from, LocalDateTime to,
+                                                TransactionCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TransactionEntity> query = cb.createQuery(TransactionEntity.class);
+        Root<TransactionEntity> root = query.from(TransactionEntity.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(incoming ? incomingTo(cb, root, accountId) : cb.equal(root.get("account").get("id"), accountId));
+        addRange(cb, root, predicates, from, to);
+        if (after != null) {
+            predicates.add(TransactionSpecifications.after(after).toPredicate(root, query, cb));
+        }
+        query.where(predicates.toArray(new Predicate[0]));
+        query.orderBy(cb.asc(root.get("transactionDate")), cb.asc(root.get("id")));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    private BigDecimal sumOutgoing(UUID accountId, LocalDateTime from, LocalDateTime to, TransactionCursor through) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BigDecimal> query = cb.createQuery(BigDecimal.class);
+        Root<TransactionEntity> root = query.from(TransactionEntity.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.equal(root.get("account").get("id"), accountId));
+        addRange(cb, root, predicates, from, to);
+        addThrough(cb, root, predicates, through);
+        query.select(cb.sum(balanceChange(cb, root))).where(predicates.toArray(new Predicate[0]));
+        return nullToZero(entityManager.createQuery(query).getSingleResult());
+    }
+
+    private BigDecimal sumIncoming(UUID accountId, LocalDateTime from, LocalDateTime to, TransactionCursor through) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BigDecimal> query = cb.createQuery(BigDecimal.class);
+        Root<TransactionEntity> root = query.from(TransactionEntity.class);
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(incomingTo(cb, root, accountId));
+        addRange(cb, root, predicates, from, to);
+        addThrough(cb, root, predicates, through);
+        query.select(cb.sum(root.<BigDecimal>get("transactionAmount"))).where(predicates.toArray(new Predicate[0]));
+        return nullToZero(entityManager.createQuery(query).getSingleResult());
+    }
+
+    private Expression<BigDecimal> balanceChange(CriteriaBuilder cb, Root<TransactionEntity> root) {
+        Expression<BigDecimal> amount = root.get("transactionAmount");
+        return cb.<BigDecimal>selectCase()
+                .when(cb.equal(root.get("transactionType"), TransactionType.DEPOSIT), amount)
+                .when(root.get("transactionType").in(TransactionType.WITHDRAWAL, TransactionType.TRANSFER), cb.neg(amount))
+                .otherwise(BigDecimal.ZERO);
+    }
+
+    private Predicate incomingTo(CriteriaBuilder cb, Root<TransactionEntity> root, UUID accountId) {
+        return cb.and(
+                cb.equal(root.get("transactionDestination"), accountId.toString()),
+                cb.equal(root.get("transactionType"), TransactionType.TRANSFER));
+    }
+
+    private void addRange(CriteriaBuilder cb, Root<TransactionEntity> root, List<Predicate> predicates, LocalDateTime from, LocalDateTime to) {
+        if (from != null) {
+            predicates.add(cb.greaterThanOrEqualTo(root.get("transactionDate"), from));
+        }
+        if (to != null) {
+            predicates.add(cb.lessThan(root.get("transactionDate"), to));
+        }
+    }
+
+    private void addThrough(CriteriaBuilder cb, Root<TransactionEntity> root, List<Predicate> predicates, TransactionCursor through) {
+        if (through != null) {
+            predicates.add(cb.or(
+                    cb.lessThan(root.get("transactionDate"), through.getTransactionDate()),
+                    cb.and(
+                            cb.equal(root.get("transactionDate"), through.getTransactionDate()),
+                            cb.lessThanOrEqualTo(root.get("id"), through.getId()))));
+        }
+    }
+
+    private BigDecimal nullToZero(BigDecimal value) {
+        return value == null ? BigDecimal.ZERO : value;
+    }
+}
@@ -1,14 +1,51 @@
 package io.bankingsystem.banking.repository;
 
-import io.bankingsystem.banking.model.entity.AccountEntity;
+import io.bankingsystem.banking.model.dto.CardDto;
+import io.bankingsystem.banking.model.dto.EntityVersionDto;
 import io.bankingsystem.banking.model.entity.CardEntity;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
-import javax.smartcardio.Card;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface CardRepository extends JpaRepository<CardEntity, UUID> {
     List<CardEntity> findByAccountId(UUID accountId);
+
+    List<CardEntity> findByAccountIdIn(Collection<UUID> accountIds);
+
     void deleteByAccountId(UUID accountId);
+
+    @Transactional(readOnly = true)
+    @Query("select new io.bankingsystem.banking.model.dto.CardDto(c.id, c.cardNumber, c.cardExpiryDate, c.cardCvv, c.cardType.id, c.account.id) " +
+            "from CardEntity c")
+    List<CardDto> findAllDtos();
+
+    @Query("select new io.bankingsystem.banking.model.dto.CardDto(c.id, c.cardNumber, c.cardExpiryDate, c.cardCvv, c.cardType.id, c.account.id) " +
+            "from CardEntity c where :after is null or c.id > :after order by c.id")
+    List<CardDto> findDtoChunkAfter(@Param("after") UUID after, Limit limit);
+
+    @Transactional(readOnly = true)
+    @Query("select new io.bankingsystem.banking.model.dto.CardDto(c.id, c.cardNumber, c.cardExpiryDate, c.cardCvv, c.cardType.id, c.account.id) " +
+            "from CardEntity c where c.id = :id")
+    Optional<CardDto> findDtoById(@Param("id") UUID id);
+
+    @Transactional(readOnly = true)
+    @Query("select new io.bankingsystem.banking.model.dto.EntityVersionDto(c.id, c.version) from CardEntity c order by c.id")
+    List<EntityVersionDto> findAllVersions();
+
+    @Transactional(readOnly = true)
+    @Query("select new io.bankingsystem.banking.model.dto.EntityVersionDto(c.id, c.version) from CardEntity c " +
+            "where c.account.id = :accountId order by c.id")
+    List<EntityVersionDto> findVersionsByAccountId(@Param("accountId") UUID accountId);
+
+    @Transactional(readOnly = true)
+    @Query("select new io.bankingsystem.banking.model.dto.EntityVersionDto(c.id, c.version) from CardEntity c " +
+            "where c.account.customer.id = :customerId order by c.id")
+    List<EntityVersionDto> findVersionsByCustomerId(@Param("customerId") UUID customerId);
 }
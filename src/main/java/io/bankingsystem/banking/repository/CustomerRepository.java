@@ -1,13 +1,59 @@
 package io.bankingsystem.banking.repository;
 
+import io.bankingsystem.banking.model.dto.CustomerDto;
+import io.bankingsystem.banking.model.dto.EntityVersionDto;
 import io.bankingsystem.banking.model.entity.CustomerEntity;
+import io.bankingsystem.banking.model.enum_fields.CustomerRole;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface CustomerRepository extends JpaRepository<CustomerEntity, UUID> {
-    List<CustomerEntity> findByCustomerDateOfBirthAfter(LocalDate date);
-    List<CustomerEntity> findByCustomerDateOfBirthBefore(LocalDate date);
+    Optional<CustomerEntity> findByCustomerEmail(String customerEmail);
+
+    boolean existsByCustomerRole(CustomerRole customerRole);
+
+    @Modifying
+    @Transactional
+    @Query("update CustomerEntity c set c.customerPassword = :newHash where c.id = :id and c.customerPassword = :currentHash")
+    int updatePasswordHash(@Param("id") UUID id, @Param("currentHash") String currentHash, @Param("newHash") String newHash);
+
+    @Query("select c from CustomerEntity c where :after is null or c.id > :after order by c.id")
+    List<CustomerEntity> findChunkAfter(@Param("after") UUID after, Limit limit);
+
+    @Transactional(readOnly = true)
+    @Query("select new io.bankingsystem.banking.model.dto.CustomerDto(c.id, c.customerFirstName, c.customerLastName, c.customerDateOfBirth, " +
+            "c.customerEmail, c.customerPhoneNumber, c.customerAddress, cast(null as String), c.customerRole, c.version) from CustomerEntity c")
+    List<CustomerDto> findAllDtos();
+
+    @Transactional(readOnly = true)
+    @Query("select new io.bankingsystem.banking.model.dto.CustomerDto(c.id, c.customerFirstName, c.customerLastName, c.customerDateOfBirth, " +
+            "c.customerEmail, c.customerPhoneNumber, c.customerAddress, cast(null as String), c.customerRole, c.version) from CustomerEntity c where c.id = :id")
+    Optional<CustomerDto> findDtoById(@Param("id") UUID id);
+
+    @Transactional(readOnly = true)
+    @Query("select new io.bankingsystem.banking.model.dto.EntityVersionDto(c.id, c.version) from CustomerEntity c order by c.id")
+    List<EntityVersionDto> findAllVersions();
+
+    @Transactional(readOnly = true)
+    @Query("select new io.bankingsystem.banking.model.dto.EntityVersionDto(c.id, c.version) from CustomerEntity c where c.id = :id")
+    Optional<EntityVersionDto> findVersionById(@Param("id") UUID id);
+
+    @Transactional(readOnly = true)
+    @Query("select new io.bankingsystem.banking.model.dto.CustomerDto(c.id, c.customerFirstName, c.customerLastName, c.customerDateOfBirth, " +
+            "c.customerEmail, c.customerPhoneNumber, c.customerAddress, cast(null as String), c.customerRole, c.version) from CustomerEntity c where c.customerDateOfBirth > :date")
+    List<CustomerDto> findDtosBornAfter(@Param("date") LocalDate date);
+
+    @Transactional(readOnly = true)
+    @Query("select new io.bankingsystem.banking.model.dto.CustomerDto(c.id, c.customerFirstName, c.customerLastName, c.customerDateOfBirth, " +
+            "c.customerEmail, c.customerPhoneNumber, c.customerAddress, cast(null as String), c.customerRole, c.version) from CustomerEntity c where c.customerDateOfBirth < :date")
+    List<CustomerDto> findDtosBornBefore(@Param("date") LocalDate date);
 }
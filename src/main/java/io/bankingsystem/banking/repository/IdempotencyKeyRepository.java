@@ -0,0 +1,7 @@
+package io.bankingsystem.banking.repository;
+
+import io.bankingsystem.banking.model.entity.IdempotencyKeyEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKeyEntity, String> {
+}
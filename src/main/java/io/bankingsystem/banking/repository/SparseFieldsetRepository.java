@@ -0,0 +1,43 @@
+package io.bankingsystem.banking.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Repository
+public class SparseFieldsetRepository {
+    private final EntityManager entityManager;
+
+    public SparseFieldsetRepository(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    // Paths are dotted attribute names, e.g. "customer.id" selects the foreign key without a join.
+    @Transactional(readOnly = true)
+    public List<Object[]> findAll(Class<?> entityClass, List<String> paths) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<?> root = query.from(entityClass);
+        List<Selection<?>> selections = new ArrayList<>(paths.size());
+        for (String path : paths) {
+            Path<?> selection = root;
+            for (String attribute : path.split("\\.")) {
+                selection = selection.get(attribute);
+            }
+            selections.add(selection);
+        }
+        query.multiselect(selections);
+        return entityManager.createQuery(query).getResultList().stream()
+                .map(Tuple::toArray)
+                .toList();
+    }
+}
@@ -0,0 +1,73 @@
+package io.bankingsystem.banking.repository;
+
+import io.bankingsystem.banking.model.dto.AnalyticsBucketDto;
+import jakarta.persistence.EntityManager;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+@Repository
+public class TransactionAnalyticsRepository {
+    private static final String RANGE = " where t.transactionDate >= :from and t.transactionDate < :to";
+
+    private final EntityManager entityManager;
+    private final int fetchSize;
+
+    public TransactionAnalyticsRepository(EntityManager entityManager,
+                                          @Value("${banking.export.fetch-size:1000}") int fetchSize) {
+        this.entityManager = entityManager;
+        this.fetchSize = fetchSize;
+    }
+
+    public List<AnalyticsBucketDto> totalsByType(LocalDateTime from, LocalDateTime to) {
+        return buckets("select new io.bankingsystem.banking.model.dto.AnalyticsBucketDto(" +
+                "cast(t.transactionType as String), count(t), sum(t.transactionAmount)) " +
+                "from TransactionEntity t" + RANGE + " group by t.transactionType order by t.transactionType", from, to);
+    }
+
+    public List<AnalyticsBucketDto> totalsByDay(LocalDateTime from, LocalDateTime to) {
+        List<Object[]> rows = entityManager.createQuery("select cast(t.transactionDate as LocalDate), count(t), sum(t.transactionAmount) " +
+                        "from TransactionEntity t" + RANGE + " group by cast(t.transactionDate as LocalDate) " +
+                        "order by cast(t.transactionDate as LocalDate)", Object[].class)
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .getResultList();
+        return rows.stream()
+                .map(row -> new AnalyticsBucketDto(row[0].toString(), (Long) row[1], (BigDecimal) row[2]))
+                .toList();
+    }
+
+    public List<AnalyticsBucketDto> totalsByAccountType(LocalDateTime from, LocalDateTime to) {
+        return buckets("select new io.bankingsystem.banking.model.dto.AnalyticsBucketDto(" +
+                "cast(a.accountType as String), count(t), sum(t.transactionAmount)) " +
+                "from TransactionEntity t join t.account a" + RANGE + " group by a.accountType order by a.accountType", from, to);
+    }
+
+    public void forEachAmount(LocalDateTime from, LocalDateTime to, Consumer<BigDecimal> action) {
+        try (Stream<BigDecimal> amounts = entityManager
+                .createQuery("select t.transactionAmount from TransactionEntity t" + RANGE, BigDecimal.class)
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .getResultStream()) {
+            Iterator<BigDecimal> iterator = amounts.iterator();
+            while (iterator.hasNext()) {
+                action.accept(iterator.next());
+            }
+        }
+    }
+
+    private List<AnalyticsBucketDto> buckets(String jpql, LocalDateTime from, LocalDateTime to) {
+        return entityManager.createQuery(jpql, AnalyticsBucketDto.class)
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .getResultList();
+    }
+}
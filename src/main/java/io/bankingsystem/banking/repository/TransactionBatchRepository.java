@@ -0,0 +1,129 @@
+package io.bankingsystem.banking.repository;
+
+import io.bankingsystem.banking.model.entity.IdempotencyKeyEntity;
+import io.bankingsystem.banking.model.entity.TransactionEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+@Repository
+public class TransactionBatchRepository {
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_TRANSACTION_SQL =
+            "INSERT INTO transactions (id, transaction_type, transaction_amount, transaction_date, " +
+                    "transaction_description, transaction_destination, account_id) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_IDEMPOTENCY_KEY_SQL =
+            "INSERT INTO idempotency_keys (idempotency_key, request_fingerprint, transaction_id, created_at) VALUES (?, ?, ?, ?)";
+
+    private static final String UPDATE_BALANCE_SQL =
+            "UPDATE accounts SET account_current_balance = ?, version = version + 1 WHERE id = ?";
+
+    private static final String APPLY_BALANCE_DELTA_SQL =
+            "UPDATE accounts SET account_current_balance = account_current_balance + ?, version = version + 1 WHERE id = ?";
+
+    private static final String INSERT_DEAD_LETTER_SQL =
+            "INSERT INTO ledger_dead_letters (transaction_id, transaction_type, transaction_amount, transaction_date, " +
+                    "transaction_description, transaction_destination, account_id, journal_sequence, failure_message, failed_at) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final int MAX_FAILURE_MESSAGE_LENGTH = 1000;
+
+    private static final String SELECT_EXISTING_IDS_SQL = "SELECT id FROM transactions WHERE id IN (%s)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TransactionBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void insertTransactions(List<TransactionEntity> transactions) {
+        jdbcTemplate.batchUpdate(INSERT_TRANSACTION_SQL, transactions, BATCH_SIZE, (ps, transaction) -> {
+            ps.setBytes(1, toBytes(transaction.getId()));
+            ps.setString(2, transaction.getTransactionType().name());
+            ps.setBigDecimal(3, transaction.getTransactionAmount());
+            ps.setTimestamp(4, Timestamp.valueOf(transaction.getTransactionDate()));
+            ps.setString(5, transaction.getTransactionDescription());
+            ps.setString(6, transaction.getTransactionDestination());
+            ps.setBytes(7, toBytes(transaction.getAccount().getId()));
+        });
+    }
+
+    public void insertIdempotencyKeys(List<IdempotencyKeyEntity> idempotencyKeys) {
+        jdbcTemplate.batchUpdate(INSERT_IDEMPOTENCY_KEY_SQL, idempotencyKeys, BATCH_SIZE, (ps, key) -> {
+            ps.setString(1, key.getKey());
+            ps.setString(2, key.getRequestFingerprint());
+            ps.setBytes(3, toBytes(key.getTransactionId()));
+            ps.setTimestamp(4, Timestamp.valueOf(key.getCreatedAt()));
+        });
+    }
+
+    public void updateAccountBalances(Map<UUID, BigDecimal> balances) {
+        List<Map.Entry<UUID, BigDecimal>> updates = new ArrayList<>(balances.entrySet());
+        jdbcTemplate.batchUpdate(UPDATE_BALANCE_SQL, updates, BATCH_SIZE, (ps, update) -> {
+            ps.setBigDecimal(1, update.getValue());
+            ps.setBytes(2, toBytes(update.getKey()));
+        });
+    }
+
+    public void applyBalanceDeltas(Map<UUID, BigDecimal> deltas) {
+        List<Map.Entry<UUID, BigDecimal>> updates = new ArrayList<>(deltas.entrySet());
+        jdbcTemplate.batchUpdate(APPLY_BALANCE_DELTA_SQL, updates, BATCH_SIZE, (ps, update) -> {
+            ps.setBigDecimal(1, update.getValue());
+            ps.setBytes(2, toBytes(update.getKey()));
+        });
+    }
+
+    public void insertDeadLetter(TransactionEntity transaction, Long journalSequence, String failureMessage) {
+        String message = failureMessage != null && failureMessage.length() > MAX_FAILURE_MESSAGE_LENGTH
+                ? failureMessage.substring(0, MAX_FAILURE_MESSAGE_LENGTH) : failureMessage;
+        jdbcTemplate.update(INSERT_DEAD_LETTER_SQL,
+                toBytes(transaction.getId()),
+                transaction.getTransactionType().name(),
+                transaction.getTransactionAmount(),
+                Timestamp.valueOf(transaction.getTransactionDate()),
+                transaction.getTransactionDescription(),
+                transaction.getTransactionDestination(),
+                toBytes(transaction.getAccount().getId()),
+                journalSequence,
+                message,
+                Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    public Set<UUID> findExistingTransactionIds(Collection<UUID> transactionIds) {
+        List<UUID> ids = new ArrayList<>(transactionIds);
+        Set<UUID> existing = new HashSet<>();
+        for (int from = 0; from < ids.size(); from += BATCH_SIZE) {
+            List<UUID> chunk = ids.subList(from, Math.min(from + BATCH_SIZE, ids.size()));
+            String sql = String.format(SELECT_EXISTING_IDS_SQL, String.join(", ", Collections.nCopies(chunk.size(), "?")));
+            Object[] params = chunk.stream().map(TransactionBatchRepository::toBytes).toArray();
+            existing.addAll(jdbcTemplate.query(sql, (rs, rowNum) -> fromBytes(rs.getBytes(1)), params));
+        }
+        return existing;
+    }
+
+    public static byte[] toBytes(UUID id) {
+        return ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+    }
+
+    public static UUID fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+}
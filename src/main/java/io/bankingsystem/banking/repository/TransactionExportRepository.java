@@ -0,0 +1,57 @@
+package io.bankingsystem.banking.repository;
+
+import io.bankingsystem.banking.model.entity.TransactionEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Repository;
+
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+@Repository
+public class TransactionExportRepository {
+    private final EntityManager entityManager;
+    private final int fetchSize;
+    private final int clearInterval;
+
+    public TransactionExportRepository(EntityManager entityManager,
+                                       @Value("${banking.export.fetch-size:1000}") int fetchSize,
+                                       @Value("${banking.export.clear-interval:1000}") int clearInterval) {
+        this.entityManager = entityManager;
+        this.fetchSize = fetchSize;
+        this.clearInterval = clearInterval;
+    }
+
+    public long forEach(Specification<TransactionEntity> specification, Consumer<TransactionEntity> action) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TransactionEntity> query = cb.createQuery(TransactionEntity.class);
+        Root<TransactionEntity> root = query.from(TransactionEntity.class);
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(cb.asc(root.get("transactionDate")), cb.asc(root.get("id")));
+
+        long count = 0;
+        try (Stream<TransactionEntity> rows = entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()) {
+            Iterator<TransactionEntity> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                action.accept(iterator.next());
+                if (++count % clearInterval == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+        return count;
+    }
+}
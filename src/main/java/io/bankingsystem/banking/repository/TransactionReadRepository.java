@@ -0,0 +1,45 @@
+package io.bankingsystem.banking.repository;
+
+import io.bankingsystem.banking.model.dto.TransactionDto;
+import io.bankingsystem.banking.model.entity.TransactionEntity;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Repository
+public class TransactionReadRepository {
+    private final EntityManager entityManager;
+
+    public TransactionReadRepository(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Transactional(readOnly = true)
+    public List<TransactionDto> findPage(Specification<TransactionEntity> specification, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TransactionDto> query = cb.createQuery(TransactionDto.class);
+        Root<TransactionEntity> root = query.from(TransactionEntity.class);
+        query.select(cb.construct(TransactionDto.class,
+                root.get("id"),
+                root.get("transactionType"),
+                root.get("transactionAmount"),
+                root.get("transactionDate"),
+                root.get("transactionDescription"),
+                root.get("transactionDestination"),
+                root.get("account").get("id")));
+
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(cb.asc(root.get("transactionDate")), cb.asc(root.get("id")));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+}
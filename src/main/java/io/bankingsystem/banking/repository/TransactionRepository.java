@@ -1,13 +1,42 @@
 package io.bankingsystem.banking.repository;
 
+import io.bankingsystem.banking.model.dto.TransactionDto;
 import io.bankingsystem.banking.model.entity.TransactionEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
-public interface TransactionRepository extends JpaRepository<TransactionEntity, UUID> {
+public interface TransactionRepository extends JpaRepository<TransactionEntity, UUID>, JpaSpecificationExecutor<TransactionEntity> {
     List<TransactionEntity> findByAccountId(UUID accountId);
     void deleteByAccountId(UUID accountId);
 
+    @Transactional(readOnly = true)
+    @Query("select new io.bankingsystem.banking.model.dto.TransactionDto(t.id, t.transactionType, t.transactionAmount, " +
+            "t.transactionDate, t.transactionDescription, t.transactionDestination, t.account.id) " +
+            "from TransactionEntity t where t.id = :id")
+    Optional<TransactionDto> findDtoById(@Param("id") UUID id);
+
+    @Query(value = "select ranked.id, ranked.transaction_type, ranked.transaction_amount, ranked.transaction_date, " +
+            "ranked.transaction_description, ranked.transaction_destination, ranked.account_id " +
+            "from (select t.*, row_number() over (partition by t.account_id order by t.transaction_date desc, t.id desc) as row_num " +
+            "from transactions t where t.account_id in (:accountIds)) ranked " +
+            "where ranked.row_num <= :limit order by ranked.account_id, ranked.row_num", nativeQuery = true)
+    List<TransactionEntity> findLatestByAccountIdIn(@Param("accountIds") Collection<UUID> accountIds, @Param("limit") int limit);
+
+    @Query("select distinct t.account.id from TransactionEntity t where t.transactionDate >= :start and t.transactionDate < :end")
+    List<UUID> findAccountIdsWithActivity(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    @Query("select distinct t.transactionDestination from TransactionEntity t " +
+            "where t.transactionType = io.bankingsystem.banking.model.enum_fields.TransactionType.TRANSFER " +
+            "and t.transactionDate >= :start and t.transactionDate < :end")
+    List<String> findTransferDestinationsWithActivity(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
 }
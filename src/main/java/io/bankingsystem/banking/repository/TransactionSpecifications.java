@@ -0,0 +1,49 @@
+package io.bankingsystem.banking.repository;
+
+import io.bankingsystem.banking.model.dto.TransactionFilterDto;
+import io.bankingsystem.banking.model.entity.TransactionEntity;
+import io.bankingsystem.banking.service.support.TransactionCursor;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class TransactionSpecifications {
+
+    private TransactionSpecifications() {
+    }
+
+    public static Specification<TransactionEntity> matching(TransactionFilterDto filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (filter.getAccountId() != null) {
+                predicates.add(cb.equal(root.get("account").get("id"), filter.getAccountId()));
+            }
+            if (filter.getType() != null) {
+                predicates.add(cb.equal(root.get("transactionType"), filter.getType()));
+            }
+            if (filter.getMinAmount() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("transactionAmount"), filter.getMinAmount()));
+            }
+            if (filter.getMaxAmount() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("transactionAmount"), filter.getMaxAmount()));
+            }
+            if (filter.getFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("transactionDate"), filter.getFrom()));
+            }
+            if (filter.getTo() != null) {
+                predicates.add(cb.lessThan(root.get("transactionDate"), filter.getTo()));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    public static Specification<TransactionEntity> after(TransactionCursor cursor) {
+        return (root, query, cb) -> cb.or(
+                cb.greaterThan(root.get("transactionDate"), cursor.getTransactionDate()),
+                cb.and(
+                        cb.equal(root.get("transactionDate"), cursor.getTransactionDate()),
+                        cb.greaterThan(root.get("id"), cursor.getId())));
+    }
+}
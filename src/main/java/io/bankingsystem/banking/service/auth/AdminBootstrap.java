@@ -0,0 +1,71 @@
+package io.bankingsystem.banking.service.auth;
+
+import io.bankingsystem.banking.model.entity.CustomerEntity;
+import io.bankingsystem.banking.model.enum_fields.CustomerRole;
+import io.bankingsystem.banking.repository.CustomerRepository;
+import io.bankingsystem.banking.service.routing.DataSourceRouting;
+import io.bankingsystem.banking.service.validations.CustomerValidation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+// Creating customers requires an administrator, so the first one is created from configuration when the
+// database has none yet.
+@Component
+public class AdminBootstrap {
+    private static final Logger log = LoggerFactory.getLogger(AdminBootstrap.class);
+
+    private final CustomerRepository customerRepository;
+    private final CustomerValidation customerValidation;
+    private final PasswordHashingService passwordHashingService;
+    private final String email;
+    private final String password;
+
+    public AdminBootstrap(CustomerRepository customerRepository, CustomerValidation customerValidation,
+                          PasswordHashingService passwordHashingService,
+                          @Value("${banking.auth.bootstrap-admin-email:}") String email,
+                          @Value("${banking.auth.bootstrap-admin-password:}") String password) {
+        this.customerRepository = customerRepository;
+        this.customerValidation = customerValidation;
+        this.passwordHashingService = passwordHashingService;
+        this.email = email.trim();
+        this.password = password;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createFirstAdmin() {
+        if (email.isEmpty() || password.isEmpty()) {
+            return;
+        }
+        if (DataSourceRouting.onPrimary(() -> customerRepository.existsByCustomerRole(CustomerRole.ADMIN))) {
+            return;
+        }
+        if (DataSourceRouting.onPrimary(() -> customerRepository.findByCustomerEmail(email)).isPresent()) {
+            log.warn("No administrator exists, but {} is already used by a customer; not creating one", email);
+            return;
+        }
+        customerValidation.validatePassword(password);
+
+        CustomerEntity admin = new CustomerEntity();
+        admin.setCustomerFirstName("Admin");
+        admin.setCustomerLastName("Admin");
+        admin.setCustomerDateOfBirth(LocalDate.of(1970, 1, 1));
+        admin.setCustomerEmail(email);
+        admin.setCustomerPhoneNumber("-");
+        admin.setCustomerAddress("-");
+        admin.setCustomerPassword(passwordHashingService.hash(password));
+        admin.setCustomerRole(CustomerRole.ADMIN);
+        try {
+            customerRepository.save(admin);
+            log.info("Created administrator {}", email);
+        } catch (DataIntegrityViolationException e) {
+            log.info("Administrator {} was created concurrently by another instance", email);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package io.bankingsystem.banking.service.auth;
+
+import io.bankingsystem.banking.service.support.AfterCommit;
+import io.bankingsystem.banking.service.support.BoundedCache;
+import io.bankingsystem.banking.service.support.BoundedCacheMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Successful credential checks, keyed by email. Only an HMAC of the presented secret is kept, under a
+// per-process key, so a repeat login costs one HMAC instead of a BCrypt round.
+@Component
+public class CredentialCache {
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final BoundedCache<String, VerifiedCredential> entries;
+    private final AtomicLong generation = new AtomicLong();
+    private final ThreadLocal<Mac> macs;
+
+    public CredentialCache(MeterRegistry meterRegistry,
+                           @Value("${banking.auth.credential-cache-size:10000}") int maxSize,
+                           @Value("${banking.auth.credential-cache-ttl-seconds:60}") long ttlSeconds) {
+        this.entries = new BoundedCache<>(maxSize, Duration.ofSeconds(ttlSeconds));
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        SecretKeySpec keySpec = new SecretKeySpec(key, HMAC_ALGORITHM);
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+                mac.init(keySpec);
+                return mac;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        new BoundedCacheMetrics(entries, "customer-credentials").bindTo(meterRegistry);
+    }
+
+    public Authentication get(String email, String secret) {
+        VerifiedCredential cached = entries.get(email);
+        if (cached == null || !MessageDigest.isEqual(cached.secretMac, mac(email, secret))) {
+            return null;
+        }
+        return cached.authentication;
+    }
+
+    // Take before loading the customer; store() drops the result if an invalidation happened in between.
+    public long beginCheck() {
+        return generation.get();
+    }
+
+    public void store(String email, String secret, Authentication authentication, long checkGeneration) {
+        VerifiedCredential verified = new VerifiedCredential(mac(email, secret), authentication);
+        synchronized (generation) {
+            if (generation.get() == checkGeneration) {
+                entries.put(email, verified);
+            }
+        }
+    }
+
+    // Evicts now, so the change is visible to this request, and again after commit, so a check that read
+    // the old row in the meantime cannot put it back.
+    public void invalidate(String email) {
+        evict(email);
+        AfterCommit.run(() -> evict(email));
+    }
+
+    public void clear() {
+        synchronized (generation) {
+            generation.incrementAndGet();
+            entries.clear();
+        }
+    }
+
+    private void evict(String email) {
+        synchronized (generation) {
+            generation.incrementAndGet();
+            entries.invalidate(email);
+        }
+    }
+
+    private byte[] mac(String email, String secret) {
+        Mac mac = macs.get();
+        mac.update(email.getBytes(StandardCharsets.UTF_8));
+        mac.update((byte) 0);
+        return mac.doFinal(secret.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static final class VerifiedCredential {
+        private final byte[] secretMac;
+        private final Authentication authentication;
+
+        private VerifiedCredential(byte[] secretMac, Authentication authentication) {
+            this.secretMac = secretMac;
+            this.authentication = authentication;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package io.bankingsystem.banking.service.auth;
+
+import io.bankingsystem.banking.repository.AccountRepository;
+import io.bankingsystem.banking.service.routing.DataSourceRouting;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+// Administrators may act on any account; customers only on their own. The principal name is the customer id
+// for both Basic and bearer authentication.
+@Component
+public class CustomerAccess {
+    private static final String ADMIN_AUTHORITY = "ROLE_ADMIN";
+
+    private final AccountRepository accountRepository;
+
+    public CustomerAccess(AccountRepository accountRepository) {
+        this.accountRepository = accountRepository;
+    }
+
+    public boolean isAdmin(Authentication authentication) {
+        return authentication.getAuthorities().stream()
+                .anyMatch(authority -> ADMIN_AUTHORITY.equals(authority.getAuthority()));
+    }
+
+    // Missing account ids are left to request validation.
+    public boolean ownsAccounts(Authentication authentication, Collection<UUID> accountIds) {
+        if (isAdmin(authentication)) {
+            return true;
+        }
+        Set<UUID> ids = accountIds.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return true;
+        }
+        UUID customerId;
+        try {
+            customerId = UUID.fromString(authentication.getName());
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return DataSourceRouting.onPrimary(() -> accountRepository.countByIdInAndCustomerId(ids, customerId)) == ids.size();
+    }
+}
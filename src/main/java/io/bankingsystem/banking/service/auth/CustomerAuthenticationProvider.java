@@ -0,0 +1,77 @@
+package io.bankingsystem.banking.service.auth;
+
+import io.bankingsystem.banking.repository.CustomerRepository;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+
+// Authenticates HTTP Basic requests against customers. Checks that passed recently are answered from
+// CredentialCache without touching the database or BCrypt.
+@Component
+public class CustomerAuthenticationProvider implements AuthenticationProvider {
+    private final UserDetailsService userDetailsService;
+    private final PasswordHashingService passwordHashingService;
+    private final CredentialCache credentialCache;
+    private final String unknownCustomerHash;
+
+    public CustomerAuthenticationProvider(CustomerRepository customerRepository, PasswordHashingService passwordHashingService, CredentialCache credentialCache) {
+        this.userDetailsService = new CustomerUserDetailsService(customerRepository);
+        this.passwordHashingService = passwordHashingService;
+        this.credentialCache = credentialCache;
+        this.unknownCustomerHash = passwordHashingService.hash(UUID.randomUUID().toString());
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+        String email = authentication.getName();
+        String secret = authentication.getCredentials() == null ? null : authentication.getCredentials().toString();
+        if (email == null || secret == null) {
+            throw new BadCredentialsException("Invalid email or password");
+        }
+
+        Authentication cached = credentialCache.get(email, secret);
+        if (cached != null) {
+            return cached;
+        }
+
+        long checkGeneration = credentialCache.beginCheck();
+        UserDetails customer;
+        try {
+            customer = userDetailsService.loadUserByUsername(email);
+        } catch (UsernameNotFoundException e) {
+            matches(secret, unknownCustomerHash);
+            throw new BadCredentialsException("Invalid email or password");
+        }
+        if (!matches(secret, customer.getPassword())) {
+            throw new BadCredentialsException("Invalid email or password");
+        }
+        passwordHashingService.upgradeIfNeeded(UUID.fromString(customer.getUsername()), secret, customer.getPassword());
+
+        Authentication result = UsernamePasswordAuthenticationToken.authenticated(customer.getUsername(), null, customer.getAuthorities());
+        credentialCache.store(email, secret, result, checkGeneration);
+        return result;
+    }
+
+    private boolean matches(String secret, String passwordHash) {
+        try {
+            return passwordHashingService.matches(secret, passwordHash);
+        } catch (RejectedExecutionException e) {
+            throw new AuthenticationServiceException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public boolean supports(Class<?> authentication) {
+        return UsernamePasswordAuthenticationToken.class.isAssignableFrom(authentication);
+    }
+}
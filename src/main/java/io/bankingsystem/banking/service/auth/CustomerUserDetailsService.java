@@ -0,0 +1,30 @@
+package io.bankingsystem.banking.service.auth;
+
+import io.bankingsystem.banking.model.entity.CustomerEntity;
+import io.bankingsystem.banking.repository.CustomerRepository;
+import io.bankingsystem.banking.service.routing.DataSourceRouting;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+// Used only through CustomerAuthenticationProvider. As a bean it would make Spring Security wire a second,
+// uncached DaoAuthenticationProvider.
+class CustomerUserDetailsService implements UserDetailsService {
+    private final CustomerRepository customerRepository;
+
+    CustomerUserDetailsService(CustomerRepository customerRepository) {
+        this.customerRepository = customerRepository;
+    }
+
+    // Looked up by email; the username of the result is the customer id, the same principal name tokens carry.
+    @Override
+    public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+        CustomerEntity customer = DataSourceRouting.onPrimary(() -> customerRepository.findByCustomerEmail(email))
+                .orElseThrow(() -> new UsernameNotFoundException("Customer not found"));
+        return User.withUsername(customer.getId().toString())
+                .password(customer.getCustomerPassword())
+                .roles(customer.getCustomerRole().name())
+                .build();
+    }
+}
@@ -0,0 +1,114 @@
+package io.bankingsystem.banking.service.auth;
+
+import io.bankingsystem.banking.repository.CustomerRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// BCrypt runs on a small bounded pool: a burst of sign-ups or logins queues here, or is rejected once the queue
+// is full, instead of taking the CPU of every request thread.
+@Service
+public class PasswordHashingService {
+    private static final Logger log = LoggerFactory.getLogger(PasswordHashingService.class);
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 10_000;
+
+    private final PasswordEncoder passwordEncoder;
+    private final CustomerRepository customerRepository;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMillis;
+    private final Timer encodeTimer;
+    private final Timer verifyTimer;
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder, CustomerRepository customerRepository, MeterRegistry meterRegistry,
+                                  @Value("${banking.passwords.hashing-threads:0}") int threads,
+                                  @Value("${banking.passwords.queue-capacity:64}") int queueCapacity,
+                                  @Value("${banking.passwords.timeout-ms:5000}") long timeoutMillis) {
+        this.passwordEncoder = passwordEncoder;
+        this.customerRepository = customerRepository;
+        this.timeoutMillis = timeoutMillis;
+
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hasher-" + threadIndex.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        this.encodeTimer = Timer.builder("banking.passwords.hashing").tag("operation", "encode").register(meterRegistry);
+        this.verifyTimer = Timer.builder("banking.passwords.hashing").tag("operation", "verify").register(meterRegistry);
+        Gauge.builder("banking.passwords.hashing.queued", executor, e -> e.getQueue().size()).register(meterRegistry);
+    }
+
+    public String hash(String rawPassword) {
+        return await(() -> encodeTimer.record(() -> passwordEncoder.encode(rawPassword)));
+    }
+
+    // PUT bodies may leave the password out or send back the stored hash they were given; neither is a new password.
+    public static boolean isUnchanged(String submittedPassword, String currentHash) {
+        return submittedPassword == null || submittedPassword.isEmpty() || submittedPassword.equals(currentHash);
+    }
+
+    public boolean matches(String rawPassword, String passwordHash) {
+        return await(() -> verifyTimer.record(() -> passwordEncoder.matches(rawPassword, passwordHash)));
+    }
+
+    // Call after a successful login. Hashes made with a lower BCrypt strength than configured are replaced,
+    // unless the password changed in the meantime. Returns the hash now stored.
+    public String upgradeIfNeeded(UUID customerId, String rawPassword, String currentHash) {
+        if (!passwordEncoder.upgradeEncoding(currentHash)) {
+            return currentHash;
+        }
+        try {
+            String upgradedHash = hash(rawPassword);
+            return customerRepository.updatePasswordHash(customerId, currentHash, upgradedHash) == 1 ? upgradedHash : currentHash;
+        } catch (RejectedExecutionException e) {
+            log.debug("Skipped password hash upgrade for customer {}: {}", customerId, e.getMessage());
+            return currentHash;
+        }
+    }
+
+    private <T> T await(Supplier<T> task) {
+        Future<T> future = executor.submit(task::get);
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new RejectedExecutionException("Password hashing is busy, try again later");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(SHUTDOWN_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+    }
+}
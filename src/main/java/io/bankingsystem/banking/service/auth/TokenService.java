@@ -0,0 +1,136 @@
+package io.bankingsystem.banking.service.auth;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import io.bankingsystem.banking.model.dto.TokenResponseDto;
+import io.bankingsystem.banking.model.enum_fields.CustomerRole;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Component
+public class TokenService {
+    private static final Logger log = LoggerFactory.getLogger(TokenService.class);
+    private static final String ISSUER = "banking";
+    private static final String TYPE_CLAIM = "typ";
+    private static final String ROLE_CLAIM = "role";
+    private static final String PASSWORD_CLAIM = "pwd";
+    private static final String ACCESS = "access";
+    private static final String REFRESH = "refresh";
+    private static final int MIN_SECRET_BYTES = 32;
+
+    private final Algorithm algorithm;
+    private final JWTVerifier accessVerifier;
+    private final JWTVerifier refreshVerifier;
+    private final Duration accessTokenTtl;
+    private final Duration refreshTokenTtl;
+    private final Map<CustomerRole, List<GrantedAuthority>> authorities = new EnumMap<>(CustomerRole.class);
+
+    public TokenService(@Value("${banking.auth.jwt-secret:}") String secret,
+                        @Value("${banking.auth.access-token-ttl-minutes:15}") long accessTokenTtlMinutes,
+                        @Value("${banking.auth.refresh-token-ttl-hours:24}") long refreshTokenTtlHours) {
+        this.algorithm = Algorithm.HMAC256(signingKey(secret));
+        this.accessVerifier = JWT.require(algorithm).withIssuer(ISSUER).withClaim(TYPE_CLAIM, ACCESS).build();
+        this.refreshVerifier = JWT.require(algorithm).withIssuer(ISSUER).withClaim(TYPE_CLAIM, REFRESH).build();
+        this.accessTokenTtl = Duration.ofMinutes(accessTokenTtlMinutes);
+        this.refreshTokenTtl = Duration.ofHours(refreshTokenTtlHours);
+        for (CustomerRole role : CustomerRole.values()) {
+            authorities.put(role, List.of(new SimpleGrantedAuthority("ROLE_" + role.name())));
+        }
+    }
+
+    public TokenResponseDto issueTokens(UUID customerId, CustomerRole role, String passwordHash) {
+        Instant now = Instant.now();
+        String subject = customerId.toString();
+        String accessToken = JWT.create()
+                .withIssuer(ISSUER)
+                .withSubject(subject)
+                .withClaim(TYPE_CLAIM, ACCESS)
+                .withClaim(ROLE_CLAIM, role.name())
+                .withIssuedAt(now)
+                .withExpiresAt(now.plus(accessTokenTtl))
+                .sign(algorithm);
+        String refreshToken = JWT.create()
+                .withIssuer(ISSUER)
+                .withSubject(subject)
+                .withClaim(TYPE_CLAIM, REFRESH)
+                .withClaim(PASSWORD_CLAIM, passwordFingerprint(passwordHash))
+                .withJWTId(UUID.randomUUID().toString())
+                .withIssuedAt(now)
+                .withExpiresAt(now.plus(refreshTokenTtl))
+                .sign(algorithm);
+        return new TokenResponseDto(accessToken, refreshToken, "Bearer", accessTokenTtl.toSeconds());
+    }
+
+    // Only an HMAC check and a claims parse: no database or password hashing on the request path.
+    public Authentication authenticate(String accessToken) {
+        DecodedJWT jwt = accessVerifier.verify(accessToken);
+        CustomerRole role;
+        try {
+            role = CustomerRole.valueOf(jwt.getClaim(ROLE_CLAIM).asString());
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new JWTVerificationException("Unknown role in token");
+        }
+        return UsernamePasswordAuthenticationToken.authenticated(jwt.getSubject(), null, authorities.get(role));
+    }
+
+    public UUID verifyRefreshToken(String refreshToken) {
+        DecodedJWT jwt = refreshVerifier.verify(refreshToken);
+        try {
+            return UUID.fromString(jwt.getSubject());
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new JWTVerificationException("Invalid token subject");
+        }
+    }
+
+    // Refresh tokens stop working once the customer's password changes.
+    public boolean isIssuedForPassword(String refreshToken, String passwordHash) {
+        String fingerprint = JWT.decode(refreshToken).getClaim(PASSWORD_CLAIM).asString();
+        return MessageDigest.isEqual(
+                passwordFingerprint(passwordHash).getBytes(StandardCharsets.US_ASCII),
+                fingerprint == null ? new byte[0] : fingerprint.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static String passwordFingerprint(String passwordHash) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(passwordHash.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest).substring(0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] signingKey(String secret) {
+        if (secret == null || secret.isBlank()) {
+            log.warn("banking.auth.jwt-secret is not set; using a random key, so tokens are only valid on this instance until it restarts");
+            byte[] key = new byte[MIN_SECRET_BYTES];
+            new SecureRandom().nextBytes(key);
+            return key;
+        }
+        byte[] key = secret.getBytes(StandardCharsets.UTF_8);
+        if (key.length < MIN_SECRET_BYTES) {
+            throw new IllegalStateException("banking.auth.jwt-secret must be at least " + MIN_SECRET_BYTES + " bytes");
+        }
+        return key;
+    }
+}
@@ -0,0 +1,140 @@
+package io.bankingsystem.banking.service.journal;
+
+import io.bankingsystem.banking.model.entity.AccountEntity;
+import io.bankingsystem.banking.model.entity.IdempotencyKeyEntity;
+import io.bankingsystem.banking.model.entity.TransactionEntity;
+import io.bankingsystem.banking.model.enum_fields.TransactionType;
+import io.bankingsystem.banking.service.support.MoneyUnits;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.zip.CRC32C;
+
+final class JournalCodec {
+    static final int HEADER_SIZE = Integer.BYTES * 2;
+    private static final int FIXED_PAYLOAD_SIZE = Long.BYTES + 16 + 1 + Long.BYTES + Long.BYTES + 16 + Short.BYTES * 2;
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private JournalCodec() {
+    }
+
+    static byte[] encode(long sequence, TransactionEntity transaction, IdempotencyKeyEntity idempotencyKey) {
+        byte[] description = utf8(transaction.getTransactionDescription());
+        byte[] destination = utf8(transaction.getTransactionDestination());
+        byte[] key = idempotencyKey == null ? null : utf8(idempotencyKey.getKey());
+        byte[] fingerprint = idempotencyKey == null ? null : utf8(idempotencyKey.getRequestFingerprint());
+        int payloadSize = FIXED_PAYLOAD_SIZE + length(description) + length(destination)
+                + Short.BYTES * 2 + length(key) + length(fingerprint);
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + payloadSize);
+        buffer.putInt(payloadSize);
+        buffer.putInt(0);
+        buffer.putLong(sequence);
+        putUuid(buffer, transaction.getId());
+        buffer.put((byte) transaction.getTransactionType().ordinal());
+        buffer.putLong(MoneyUnits.toMinorUnits(transaction.getTransactionAmount()));
+        buffer.putLong(toEpochMicros(transaction.getTransactionDate()));
+        putUuid(buffer, transaction.getAccount().getId());
+        putBytes(buffer, description);
+        putBytes(buffer, destination);
+        putBytes(buffer, key);
+        putBytes(buffer, fingerprint);
+
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.array(), HEADER_SIZE, payloadSize);
+        buffer.putInt(Integer.BYTES, (int) crc.getValue());
+        return buffer.array();
+    }
+
+    static JournalEntry decode(ByteBuffer segment) {
+        if (segment.remaining() < HEADER_SIZE) {
+            return null;
+        }
+        int start = segment.position();
+        int payloadSize = segment.getInt(start);
+        if (payloadSize < FIXED_PAYLOAD_SIZE || payloadSize > segment.remaining() - HEADER_SIZE) {
+            return null;
+        }
+        int checksum = segment.getInt(start + Integer.BYTES);
+
+        ByteBuffer payload = segment.slice(start + HEADER_SIZE, payloadSize);
+        CRC32C crc = new CRC32C();
+        crc.update(payload.duplicate());
+        if ((int) crc.getValue() != checksum) {
+            return null;
+        }
+
+        long sequence = payload.getLong();
+        TransactionEntity transaction = new TransactionEntity();
+        transaction.setId(getUuid(payload));
+        transaction.setTransactionType(TYPES[payload.get()]);
+        transaction.setTransactionAmount(MoneyUnits.fromMinorUnits(payload.getLong()));
+        transaction.setTransactionDate(fromEpochMicros(payload.getLong()));
+        AccountEntity account = new AccountEntity();
+        account.setId(getUuid(payload));
+        transaction.setAccount(account);
+        transaction.setTransactionDescription(getString(payload));
+        transaction.setTransactionDestination(getString(payload));
+
+        // Records written before idempotency keys were journaled end here.
+        IdempotencyKeyEntity idempotencyKey = null;
+        if (payload.hasRemaining()) {
+            String key = getString(payload);
+            String fingerprint = getString(payload);
+            if (key != null) {
+                idempotencyKey = new IdempotencyKeyEntity(key, fingerprint, transaction.getId(), transaction.getTransactionDate());
+            }
+        }
+
+        segment.position(start + HEADER_SIZE + payloadSize);
+        return new JournalEntry(sequence, transaction, idempotencyKey);
+    }
+
+    private static long toEpochMicros(LocalDateTime date) {
+        return date.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + date.getNano() / 1_000;
+    }
+
+    private static LocalDateTime fromEpochMicros(long epochMicros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epochMicros, 1_000_000L),
+                (int) Math.floorMod(epochMicros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    private static void putUuid(ByteBuffer buffer, UUID id) {
+        buffer.putLong(id.getMostSignificantBits());
+        buffer.putLong(id.getLeastSignificantBits());
+    }
+
+    private static UUID getUuid(ByteBuffer buffer) {
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int length(byte[] bytes) {
+        return bytes == null ? 0 : bytes.length;
+    }
+
+    private static void putBytes(ByteBuffer buffer, byte[] bytes) {
+        if (bytes == null) {
+            buffer.putShort((short) -1);
+            return;
+        }
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        short length = buffer.getShort();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,14 @@
+package io.bankingsystem.banking.service.journal;
+
+import io.bankingsystem.banking.model.entity.IdempotencyKeyEntity;
+import io.bankingsystem.banking.model.entity.TransactionEntity;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class JournalEntry {
+    private final long sequence;
+    private final TransactionEntity transaction;
+    private final IdempotencyKeyEntity idempotencyKey;
+}
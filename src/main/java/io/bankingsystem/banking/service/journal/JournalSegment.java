@@ -0,0 +1,59 @@
+package io.bankingsystem.banking.service.journal;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+class JournalSegment {
+    private static final String PREFIX = "journal-";
+    private static final String SUFFIX = ".seg";
+
+    final Path path;
+    final long firstSequence;
+    final MappedByteBuffer buffer;
+    int syncedPosition;
+
+    private JournalSegment(Path path, long firstSequence, MappedByteBuffer buffer) {
+        this.path = path;
+        this.firstSequence = firstSequence;
+        this.buffer = buffer;
+    }
+
+    static JournalSegment create(Path directory, long firstSequence, int size) throws IOException {
+        Path path = directory.resolve(String.format("%s%020d%s", PREFIX, firstSequence, SUFFIX));
+        return map(path, firstSequence, size, FileChannel.MapMode.READ_WRITE,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    static JournalSegment open(Path path) throws IOException {
+        return map(path, sequenceOf(path), (int) Files.size(path), FileChannel.MapMode.READ_ONLY, StandardOpenOption.READ);
+    }
+
+    static boolean isSegment(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+    }
+
+    private static long sequenceOf(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+
+    private static JournalSegment map(Path path, long firstSequence, int size, FileChannel.MapMode mode,
+                                      StandardOpenOption... options) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, options)) {
+            return new JournalSegment(path, firstSequence, channel.map(mode, 0, size));
+        }
+    }
+
+    boolean fits(int length) {
+        return buffer.remaining() >= length;
+    }
+
+    void delete() throws IOException {
+        Files.deleteIfExists(path);
+    }
+}
@@ -0,0 +1,338 @@
+package io.bankingsystem.banking.service.journal;
+
+import io.bankingsystem.banking.model.entity.IdempotencyKeyEntity;
+import io.bankingsystem.banking.model.entity.TransactionEntity;
+import io.bankingsystem.banking.repository.TransactionBatchRepository;
+import io.bankingsystem.banking.service.support.BalanceEffects;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.LongConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Component
+@ConditionalOnExpression("${banking.ledger.enabled:false} and ${banking.journal.enabled:false}")
+public class TransactionJournal {
+    private static final Logger log = LoggerFactory.getLogger(TransactionJournal.class);
+    private static final String CHECKPOINT_FILE = "checkpoint";
+    private static final String CHECKPOINT_TEMP_FILE = "checkpoint.tmp";
+    private static final int MAX_SEGMENT_SIZE_MB = Integer.MAX_VALUE / (1024 * 1024);
+
+    private final Path directory;
+    private final int segmentSize;
+    private final TransactionBatchRepository transactionBatchRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Object appendLock = new Object();
+    private final List<JournalSegment> closedSegments = new ArrayList<>();
+    private final Thread committer;
+    private JournalSegment activeSegment;
+    private List<PendingSync> awaitingSync = new ArrayList<>();
+    private List<PendingSync> syncing = new ArrayList<>();
+    private long nextSequence;
+    private long checkpoint;
+    private boolean running = true;
+    private RuntimeException syncFailure;
+
+    public TransactionJournal(TransactionBatchRepository transactionBatchRepository, TransactionTemplate transactionTemplate,
+                              @Value("${banking.journal.directory:journal}") String directory,
+                              @Value("${banking.journal.segment-size-mb:64}") int segmentSizeMb) throws IOException {
+        this.transactionBatchRepository = transactionBatchRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.directory = Paths.get(directory);
+        if (segmentSizeMb < 1 || segmentSizeMb > MAX_SEGMENT_SIZE_MB) {
+            throw new IllegalArgumentException("banking.journal.segment-size-mb must be between 1 and " + MAX_SEGMENT_SIZE_MB);
+        }
+        this.segmentSize = (int) (segmentSizeMb * 1024L * 1024L);
+
+        Files.createDirectories(this.directory);
+        this.checkpoint = readCheckpoint();
+        long lastSequence = recover();
+        this.nextSequence = lastSequence + 1;
+        this.activeSegment = JournalSegment.create(this.directory, nextSequence, segmentSize);
+
+        this.committer = new Thread(this::runCommitter, "journal-committer");
+        committer.setDaemon(true);
+        committer.start();
+    }
+
+    // onDurable runs on the committer thread, in sequence order, once the record has been forced to disk and
+    // before the returned future completes. Nothing may act on the transaction before that.
+    public CompletableFuture<Void> append(TransactionEntity transaction, IdempotencyKeyEntity idempotencyKey, LongConsumer onDurable) {
+        CompletableFuture<Void> durable = new CompletableFuture<>();
+        synchronized (appendLock) {
+            if (!running) {
+                throw new IllegalStateException("Transaction journal is closed");
+            }
+            if (syncFailure != null) {
+                throw new IllegalStateException("Transaction journal is unavailable after a failed sync", syncFailure);
+            }
+            long sequence = nextSequence;
+            byte[] record = JournalCodec.encode(sequence, transaction, idempotencyKey);
+            if (!activeSegment.fits(record.length)) {
+                roll();
+            }
+            activeSegment.buffer.put(record);
+            nextSequence++;
+            awaitingSync.add(new PendingSync(sequence, onDurable, durable, activeSegment, activeSegment.buffer.position()));
+            appendLock.notifyAll();
+        }
+        return durable;
+    }
+
+    public synchronized void checkpoint(long sequence) {
+        if (sequence <= checkpoint) {
+            return;
+        }
+        writeCheckpoint(sequence);
+        checkpoint = sequence;
+
+        List<JournalSegment> obsolete = new ArrayList<>();
+        synchronized (appendLock) {
+            while (!closedSegments.isEmpty()) {
+                JournalSegment next = closedSegments.size() > 1 ? closedSegments.get(1) : activeSegment;
+                if (next.firstSequence - 1 > sequence) {
+                    break;
+                }
+                obsolete.add(closedSegments.remove(0));
+            }
+        }
+        for (JournalSegment segment : obsolete) {
+            try {
+                segment.delete();
+            } catch (IOException e) {
+                log.warn("Could not delete journal segment {}", segment.path, e);
+            }
+        }
+    }
+
+    private void roll() {
+        try {
+            activeSegment.buffer.force();
+        } catch (RuntimeException e) {
+            failUnsynced(e);
+            throw new IllegalStateException("Could not sync transaction journal segment", e);
+        }
+        activeSegment.syncedPosition = activeSegment.buffer.position();
+        try {
+            closedSegments.add(activeSegment);
+            activeSegment = JournalSegment.create(directory, nextSequence, segmentSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not roll transaction journal segment", e);
+        }
+    }
+
+    private void runCommitter() {
+        while (true) {
+            List<PendingSync> batch;
+            JournalSegment segment;
+            int position;
+            synchronized (appendLock) {
+                while (awaitingSync.isEmpty() && running) {
+                    try {
+                        appendLock.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+                if (awaitingSync.isEmpty()) {
+                    return;
+                }
+                batch = awaitingSync;
+                awaitingSync = new ArrayList<>();
+                syncing = batch;
+                segment = activeSegment;
+                position = segment.buffer.position();
+            }
+
+            RuntimeException failure = null;
+            try {
+                segment.buffer.force();
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+
+            // Completions happen under the lock so the persister always receives postings in sequence order.
+            synchronized (appendLock) {
+                if (syncing != batch) {
+                    continue;
+                }
+                if (failure != null) {
+                    failUnsynced(failure);
+                    continue;
+                }
+                syncing = new ArrayList<>();
+                segment.syncedPosition = Math.max(segment.syncedPosition, position);
+                batch.forEach(PendingSync::completeDurable);
+            }
+        }
+    }
+
+    // Called with appendLock held. Records that already reached disk are completed; the rest are failed and
+    // their bytes zeroed so recovery cannot replay a transaction the caller was told had failed. The journal
+    // refuses further appends until the application is restarted.
+    private void failUnsynced(RuntimeException cause) {
+        log.error("Transaction journal sync failed, rejecting further appends", cause);
+        syncFailure = cause;
+        List<PendingSync> unsynced = new ArrayList<>(syncing);
+        unsynced.addAll(awaitingSync);
+        syncing = new ArrayList<>();
+        awaitingSync = new ArrayList<>();
+        for (PendingSync pending : unsynced) {
+            if (pending.end <= pending.segment.syncedPosition) {
+                pending.completeDurable();
+            } else {
+                pending.durable.completeExceptionally(cause);
+            }
+        }
+
+        MappedByteBuffer buffer = activeSegment.buffer;
+        int synced = activeSegment.syncedPosition;
+        try {
+            buffer.put(synced, new byte[buffer.position() - synced]);
+            buffer.force();
+        } catch (RuntimeException e) {
+            log.error("Could not discard unsynced journal records in {}", activeSegment.path, e);
+        }
+    }
+
+    private long recover() throws IOException {
+        List<Path> segments;
+        try (Stream<Path> files = Files.list(directory)) {
+            segments = files.filter(JournalSegment::isSegment).sorted().collect(Collectors.toList());
+        }
+
+        long lastSequence = checkpoint;
+        List<JournalEntry> unpersisted = new ArrayList<>();
+        for (Path path : segments) {
+            ByteBuffer buffer = JournalSegment.open(path).buffer;
+            JournalEntry entry;
+            while ((entry = JournalCodec.decode(buffer)) != null) {
+                lastSequence = Math.max(lastSequence, entry.getSequence());
+                if (entry.getSequence() > checkpoint) {
+                    unpersisted.add(entry);
+                }
+            }
+        }
+
+        if (!unpersisted.isEmpty()) {
+            int replayed = replay(unpersisted);
+            log.info("Replayed {} of {} journaled transactions after checkpoint {}", replayed, unpersisted.size(), checkpoint);
+        }
+        writeCheckpoint(lastSequence);
+        checkpoint = lastSequence;
+        for (Path path : segments) {
+            Files.deleteIfExists(path);
+        }
+        return lastSequence;
+    }
+
+    private int replay(List<JournalEntry> entries) {
+        return transactionTemplate.execute(status -> {
+            Set<UUID> persisted = transactionBatchRepository.findExistingTransactionIds(
+                    entries.stream().map(entry -> entry.getTransaction().getId()).toList());
+            List<JournalEntry> missing = entries.stream()
+                    .filter(entry -> !persisted.contains(entry.getTransaction().getId()))
+                    .toList();
+
+            Map<UUID, BigDecimal> deltas = new HashMap<>();
+            missing.forEach(entry -> BalanceEffects.accumulate(deltas, entry.getTransaction()));
+            transactionBatchRepository.insertTransactions(missing.stream().map(JournalEntry::getTransaction).toList());
+            transactionBatchRepository.insertIdempotencyKeys(missing.stream()
+                    .map(JournalEntry::getIdempotencyKey)
+                    .filter(Objects::nonNull)
+                    .toList());
+            transactionBatchRepository.applyBalanceDeltas(deltas);
+            return missing.size();
+        });
+    }
+
+    private long readCheckpoint() throws IOException {
+        Path path = directory.resolve(CHECKPOINT_FILE);
+        if (Files.notExists(path)) {
+            return 0;
+        }
+        return ByteBuffer.wrap(Files.readAllBytes(path)).getLong();
+    }
+
+    private void writeCheckpoint(long sequence) {
+        Path temp = directory.resolve(CHECKPOINT_TEMP_FILE);
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(ByteBuffer.allocate(Long.BYTES).putLong(0, sequence));
+            channel.force(true);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write journal checkpoint", e);
+        }
+        try {
+            Files.move(temp, directory.resolve(CHECKPOINT_FILE), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not publish journal checkpoint", e);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        synchronized (appendLock) {
+            running = false;
+            appendLock.notifyAll();
+        }
+        committer.join();
+        if (syncFailure == null) {
+            activeSegment.buffer.force();
+        }
+    }
+
+    private static final class PendingSync {
+        private final long sequence;
+        private final LongConsumer onDurable;
+        private final CompletableFuture<Void> durable;
+        private final JournalSegment segment;
+        private final int end;
+
+        private PendingSync(long sequence, LongConsumer onDurable, CompletableFuture<Void> durable,
+                            JournalSegment segment, int end) {
+            this.sequence = sequence;
+            this.onDurable = onDurable;
+            this.durable = durable;
+            this.segment = segment;
+            this.end = end;
+        }
+
+        private void completeDurable() {
+            try {
+                onDurable.accept(sequence);
+            } catch (RuntimeException e) {
+                durable.completeExceptionally(e);
+                return;
+            }
+            durable.complete(null);
+        }
+    }
+}
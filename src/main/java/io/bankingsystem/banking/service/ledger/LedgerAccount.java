@@ -0,0 +1,50 @@
+package io.bankingsystem.banking.service.ledger;
+
+import io.bankingsystem.banking.model.enum_fields.AccountStatus;
+
+import java.util.UUID;
+
+class LedgerAccount {
+    final UUID id;
+    final AccountStatus status;
+    long balance;
+    long reserved;
+    int postingsInFlight;
+
+    LedgerAccount(UUID id, AccountStatus status, long balance) {
+        this.id = id;
+        this.status = status;
+        this.balance = balance;
+    }
+
+    long available() {
+        return balance - reserved;
+    }
+
+    void beginPosting() {
+        postingsInFlight++;
+    }
+
+    void endPosting() {
+        postingsInFlight = Math.max(0, postingsInFlight - 1);
+    }
+
+    void release(long amount) {
+        endPosting();
+        reserved = Math.max(0, reserved - amount);
+    }
+
+    void debitReserved(long amount) {
+        release(amount);
+        balance -= amount;
+    }
+
+    void credit(long amount) {
+        endPosting();
+        balance = Math.addExact(balance, amount);
+    }
+
+    void revert(long change) {
+        balance = Math.subtractExact(balance, change);
+    }
+}
@@ -0,0 +1,328 @@
+package io.bankingsystem.banking.service.ledger;
+
+import io.bankingsystem.banking.model.dto.TransactionDto;
+import io.bankingsystem.banking.model.entity.AccountEntity;
+import io.bankingsystem.banking.model.entity.IdempotencyKeyEntity;
+import io.bankingsystem.banking.model.entity.TransactionEntity;
+import io.bankingsystem.banking.model.enum_fields.AccountStatus;
+import io.bankingsystem.banking.model.enum_fields.TransactionType;
+import io.bankingsystem.banking.repository.AccountRepository;
+import io.bankingsystem.banking.service.journal.TransactionJournal;
+import io.bankingsystem.banking.service.mappings.TransactionMapping;
+import io.bankingsystem.banking.service.routing.DataSourceRouting;
+import io.bankingsystem.banking.service.support.BalanceEffects;
+import io.bankingsystem.banking.service.support.MoneyUnits;
+import io.bankingsystem.banking.service.validations.TransactionValidation;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+@Component
+@ConditionalOnProperty(name = "banking.ledger.enabled", havingValue = "true")
+public class LedgerEngine {
+    private static final Logger log = LoggerFactory.getLogger(LedgerEngine.class);
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 10_000;
+    private static final long LOCK_TIMEOUT_MILLIS = 5_000;
+    private static final long LOCK_POLL_MILLIS = 10;
+
+    private final AccountRepository accountRepository;
+    private final TransactionMapping mappingService;
+    private final TransactionValidation validationService;
+    private final LedgerPersister persister;
+    private final TransactionJournal journal;
+    private final LedgerPartition[] partitions;
+    private final ScheduledExecutorService flusher;
+    private final Set<UUID> lockedAccounts = ConcurrentHashMap.newKeySet();
+
+    public LedgerEngine(AccountRepository accountRepository, TransactionMapping mappingService, TransactionValidation validationService,
+                        LedgerPersister persister, ObjectProvider<TransactionJournal> journal,
+                        @Value("${banking.ledger.partitions:0}") int partitionCount,
+                        @Value("${banking.ledger.queue-capacity:10000}") int queueCapacity,
+                        @Value("${banking.ledger.flush-interval-ms:50}") long flushIntervalMillis) {
+        this.accountRepository = accountRepository;
+        this.mappingService = mappingService;
+        this.validationService = validationService;
+        this.persister = persister;
+        this.journal = journal.getIfAvailable();
+
+        int count = partitionCount > 0 ? partitionCount : Runtime.getRuntime().availableProcessors();
+        this.partitions = new LedgerPartition[count];
+        for (int i = 0; i < count; i++) {
+            partitions[i] = new LedgerPartition(i, queueCapacity);
+        }
+        persister.onDeadLetter(this::revertDeadLetter);
+
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ledger-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(persister::flush, flushIntervalMillis, flushIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public TransactionDto postAndWait(TransactionDto transactionDto, IdempotencyKeyEntity idempotencyKey) {
+        try {
+            return post(transactionDto, idempotencyKey).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    public CompletableFuture<TransactionDto> post(TransactionDto transactionDto) {
+        return post(transactionDto, null);
+    }
+
+    // The idempotency key, when given, is journaled and persisted together with the posting.
+    public CompletableFuture<TransactionDto> post(TransactionDto transactionDto, IdempotencyKeyEntity idempotencyKey) {
+        validationService.validateTransactionFields(transactionDto);
+        long amount = MoneyUnits.toMinorUnits(transactionDto.getTransactionAmount());
+        UUID sourceId = transactionDto.getAccountId();
+        LedgerPartition source = partitionFor(sourceId);
+
+        if (transactionDto.getTransactionType() != TransactionType.TRANSFER) {
+            return submitTo(source, () -> hold(source, transactionDto, amount))
+                    .thenCompose(held -> recordThenSettle(transactionDto, idempotencyKey,
+                            () -> settleSingleAccount(source, transactionDto, amount),
+                            () -> releaseHold(source, transactionDto, amount)));
+        }
+
+        UUID destinationId = validationService.parseTransferDestination(transactionDto.getTransactionDestination());
+        LedgerPartition destination = partitionFor(destinationId);
+        return submitTo(source, () -> reserve(source, sourceId, amount))
+                .thenCompose(reserved -> {
+                    CompletableFuture<LedgerAccount> checked = submitTo(destination, () -> checkDestination(destination, destinationId));
+                    return checked.thenCompose(account -> record(transactionDto, idempotencyKey))
+                            .whenComplete((recorded, failure) -> {
+                                if (failure == null) {
+                                    source.settle(sourceId, account -> account.debitReserved(amount));
+                                    destination.settle(destinationId, account -> account.credit(amount));
+                                    return;
+                                }
+                                source.settle(sourceId, account -> account.release(amount));
+                                if (!checked.isCompletedExceptionally()) {
+                                    destination.settle(destinationId, LedgerAccount::endPosting);
+                                }
+                            });
+                });
+    }
+
+    // Called by administrative changes (balance, status, delete) inside their transaction, before the account
+    // is read. New postings on the account are refused until the transaction completes, postings already in
+    // flight are waited for and flushed, and the cached copy is dropped so the next posting reloads the
+    // committed row.
+    public void lockForUpdate(UUID accountId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Ledger accounts can only be locked inside a transaction");
+        }
+        if (!lockedAccounts.add(accountId)) {
+            throw new IllegalStateException("Account is already being updated, try again later");
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                lockedAccounts.remove(accountId);
+            }
+        });
+
+        LedgerPartition partition = partitionFor(accountId);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(LOCK_TIMEOUT_MILLIS);
+        while (!partition.submit(() -> partition.evictIfIdle(accountId)).join()) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Account has transactions in progress, try again later");
+            }
+            try {
+                Thread.sleep(LOCK_POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for ledger postings to settle", e);
+            }
+        }
+        if (!persister.flushAll()) {
+            throw new IllegalStateException("Pending ledger postings could not be persisted, try again later");
+        }
+    }
+
+    private <T> CompletableFuture<T> submitTo(LedgerPartition partition, Supplier<T> task) {
+        try {
+            return partition.submit(task);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(new RejectedExecutionException("Ledger is busy, try again later", e));
+        }
+    }
+
+    // Withdrawals reserve the amount until the posting is durable; nothing is credited before that.
+    private LedgerAccount hold(LedgerPartition partition, TransactionDto transactionDto, long amount) {
+        LedgerAccount account = openAccount(partition, transactionDto.getAccountId());
+        switch (transactionDto.getTransactionType()) {
+            case DEPOSIT:
+                Math.addExact(account.balance, amount);
+                break;
+
+            case WITHDRAWAL:
+                if (account.available() < amount) {
+                    throw new IllegalStateException("Insufficient funds for withdrawal");
+                }
+                account.reserved += amount;
+                break;
+
+            default:
+                break;
+        }
+        account.beginPosting();
+        return account;
+    }
+
+    private void settleSingleAccount(LedgerPartition partition, TransactionDto transactionDto, long amount) {
+        if (transactionDto.getTransactionType() == TransactionType.DEPOSIT) {
+            partition.settle(transactionDto.getAccountId(), account -> account.credit(amount));
+        } else if (transactionDto.getTransactionType() == TransactionType.WITHDRAWAL) {
+            partition.settle(transactionDto.getAccountId(), account -> account.debitReserved(amount));
+        }
+    }
+
+    private void releaseHold(LedgerPartition partition, TransactionDto transactionDto, long amount) {
+        if (transactionDto.getTransactionType() == TransactionType.WITHDRAWAL) {
+            partition.settle(transactionDto.getAccountId(), account -> account.release(amount));
+        } else {
+            partition.settle(transactionDto.getAccountId(), LedgerAccount::endPosting);
+        }
+    }
+
+    private LedgerAccount reserve(LedgerPartition partition, UUID accountId, long amount) {
+        LedgerAccount account = openAccount(partition, accountId);
+        if (account.available() < amount) {
+            throw new IllegalStateException("Insufficient funds for transfer");
+        }
+        account.reserved += amount;
+        account.beginPosting();
+        return account;
+    }
+
+    private LedgerAccount checkDestination(LedgerPartition partition, UUID accountId) {
+        checkNotLocked(accountId);
+        LedgerAccount account = partition.account(accountId, id -> {
+            try {
+                return loadAccount(id);
+            } catch (EntityNotFoundException e) {
+                throw new EntityNotFoundException("Destination account not found");
+            }
+        });
+        if (account.status == AccountStatus.CLOSED) {
+            throw new IllegalStateException("Cannot transfer to closed account");
+        }
+        account.beginPosting();
+        return account;
+    }
+
+    private LedgerAccount openAccount(LedgerPartition partition, UUID accountId) {
+        checkNotLocked(accountId);
+        LedgerAccount account = partition.account(accountId, this::loadAccount);
+        if (account.status == AccountStatus.CLOSED) {
+            throw new IllegalStateException("Cannot create transaction for closed account");
+        }
+        return account;
+    }
+
+    private void checkNotLocked(UUID accountId) {
+        if (lockedAccounts.contains(accountId)) {
+            throw new IllegalStateException("Account is being updated, try again later");
+        }
+    }
+
+    private LedgerAccount loadAccount(UUID accountId) {
+        AccountEntity account = DataSourceRouting.onPrimary(() -> accountRepository.findById(accountId))
+                .orElseThrow(() -> new EntityNotFoundException("Account not found with ID: " + accountId));
+        return new LedgerAccount(account.getId(), account.getAccountStatus(),
+                MoneyUnits.toMinorUnits(account.getAccountCurrentBalance()));
+    }
+
+    private CompletableFuture<TransactionDto> recordThenSettle(TransactionDto transactionDto, IdempotencyKeyEntity idempotencyKey,
+                                                               Runnable onDurable, Runnable onFailure) {
+        return record(transactionDto, idempotencyKey).whenComplete((recorded, failure) -> {
+            if (failure == null) {
+                onDurable.run();
+            } else {
+                onFailure.run();
+            }
+        });
+    }
+
+    // The in-memory balances only change once this future completes, i.e. after the journal append is durable.
+    private CompletableFuture<TransactionDto> record(TransactionDto transactionDto, IdempotencyKeyEntity idempotencyKey) {
+        try {
+            AccountEntity account = new AccountEntity();
+            account.setId(transactionDto.getAccountId());
+
+            TransactionEntity transaction = mappingService.mapToTransactionEntity(transactionDto);
+            transaction.setId(UUID.randomUUID());
+            transaction.setTransactionDate(LocalDateTime.now());
+            transaction.setAccount(account);
+            TransactionDto recorded = mappingService.mapToTransactionDto(transaction);
+            if (idempotencyKey != null) {
+                idempotencyKey.setTransactionId(transaction.getId());
+            }
+
+            if (journal == null) {
+                persister.enqueue(transaction, idempotencyKey);
+                return CompletableFuture.completedFuture(recorded);
+            }
+            return journal.append(transaction, idempotencyKey, sequence -> persister.enqueue(transaction, idempotencyKey, sequence))
+                    .thenApply(durable -> recorded);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    // A dead-lettered posting already changed the cached balances but never reaches the database; undoing it
+    // keeps later postings from being checked against money that was not persisted. Accounts that are not
+    // cached are skipped, as they reload from the database.
+    private void revertDeadLetter(TransactionEntity transaction) {
+        Map<UUID, BigDecimal> deltas = new HashMap<>();
+        BalanceEffects.accumulate(deltas, transaction);
+        deltas.forEach((accountId, delta) -> {
+            long change = MoneyUnits.toMinorUnits(delta);
+            partitionFor(accountId).settle(accountId, account -> account.revert(change));
+        });
+    }
+
+    private LedgerPartition partitionFor(UUID accountId) {
+        return partitions[Math.floorMod(accountId.hashCode(), partitions.length)];
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        for (LedgerPartition partition : partitions) {
+            partition.shutdown(SHUTDOWN_TIMEOUT_MILLIS);
+        }
+        flusher.shutdown();
+        flusher.awaitTermination(SHUTDOWN_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        if (!persister.flushAll()) {
+            log.warn("Ledger shut down with postings that could not be persisted");
+        }
+    }
+}
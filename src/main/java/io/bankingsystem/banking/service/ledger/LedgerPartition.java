@@ -0,0 +1,104 @@
+package io.bankingsystem.banking.service.ledger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+class LedgerPartition {
+    private static final Logger log = LoggerFactory.getLogger(LedgerPartition.class);
+
+    private final ThreadPoolExecutor executor;
+    private final Map<UUID, LedgerAccount> accounts = new HashMap<>();
+    private final Queue<Settlement> settlements = new ConcurrentLinkedQueue<>();
+
+    LedgerPartition(int index, int queueCapacity) {
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "ledger-partition-" + index);
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    // Throws RejectedExecutionException when the partition queue is full.
+    <T> CompletableFuture<T> submit(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(() -> {
+            applySettlements();
+            return task.get();
+        }, executor);
+    }
+
+    // Balance changes of durable (or failed) postings arrive from other threads. They are queued and applied
+    // by the partition thread before its next task, so they never need a slot in the bounded task queue.
+    void settle(UUID accountId, Consumer<LedgerAccount> change) {
+        settlements.add(new Settlement(accountId, change));
+        try {
+            executor.execute(this::applySettlements);
+        } catch (RejectedExecutionException e) {
+            // A full queue means tasks are waiting, and each of them applies the settlements first.
+        }
+    }
+
+    LedgerAccount account(UUID accountId, Function<UUID, LedgerAccount> loader) {
+        LedgerAccount account = accounts.get(accountId);
+        if (account == null) {
+            account = loader.apply(accountId);
+            accounts.put(accountId, account);
+        }
+        return account;
+    }
+
+    // Drops the cached account unless a posting on it is still waiting to be settled.
+    boolean evictIfIdle(UUID accountId) {
+        LedgerAccount account = accounts.get(accountId);
+        if (account != null && account.postingsInFlight > 0) {
+            return false;
+        }
+        accounts.remove(accountId);
+        return true;
+    }
+
+    void shutdown(long timeoutMillis) throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void applySettlements() {
+        Settlement settlement;
+        while ((settlement = settlements.poll()) != null) {
+            LedgerAccount account = accounts.get(settlement.accountId);
+            if (account == null) {
+                continue;
+            }
+            try {
+                settlement.change.accept(account);
+            } catch (RuntimeException e) {
+                log.error("Could not apply ledger settlement to account {}", settlement.accountId, e);
+            }
+        }
+    }
+
+    private static final class Settlement {
+        private final UUID accountId;
+        private final Consumer<LedgerAccount> change;
+
+        private Settlement(UUID accountId, Consumer<LedgerAccount> change) {
+            this.accountId = accountId;
+            this.change = change;
+        }
+    }
+}
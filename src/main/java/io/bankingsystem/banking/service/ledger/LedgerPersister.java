@@ -0,0 +1,221 @@
+package io.bankingsystem.banking.service.ledger;
+
+import io.bankingsystem.banking.model.entity.IdempotencyKeyEntity;
+import io.bankingsystem.banking.model.entity.TransactionEntity;
+import io.bankingsystem.banking.repository.TransactionBatchRepository;
+import io.bankingsystem.banking.service.journal.TransactionJournal;
+import io.bankingsystem.banking.service.support.AccountBalanceCache;
+import io.bankingsystem.banking.service.support.BalanceEffects;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Consumer;
+
+@Component
+@ConditionalOnProperty(name = "banking.ledger.enabled", havingValue = "true")
+public class LedgerPersister {
+    private static final Logger log = LoggerFactory.getLogger(LedgerPersister.class);
+
+    private final TransactionBatchRepository transactionBatchRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectProvider<TransactionJournal> journal;
+    private final AccountBalanceCache accountBalanceCache;
+    private final int flushBatchSize;
+    private final int maxFlushAttempts;
+    private final Counter deadLetters;
+
+    private final Queue<LedgerPosting> queuedPostings = new ConcurrentLinkedQueue<>();
+    private final ConcurrentSkipListSet<Long> unflushedSequences = new ConcurrentSkipListSet<>();
+    private final List<LedgerPosting> pendingPostings = new ArrayList<>();
+    private long highestFlushedSequence;
+    private volatile Consumer<TransactionEntity> deadLetterListener = transaction -> { };
+
+    public LedgerPersister(TransactionBatchRepository transactionBatchRepository, TransactionTemplate transactionTemplate,
+                           ObjectProvider<TransactionJournal> journal, AccountBalanceCache accountBalanceCache, MeterRegistry meterRegistry,
+                           @Value("${banking.ledger.flush-batch-size:1000}") int flushBatchSize,
+                           @Value("${banking.ledger.max-flush-attempts:3}") int maxFlushAttempts) {
+        this.transactionBatchRepository = transactionBatchRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.journal = journal;
+        this.accountBalanceCache = accountBalanceCache;
+        this.flushBatchSize = flushBatchSize;
+        this.maxFlushAttempts = Math.max(1, maxFlushAttempts);
+        this.deadLetters = Counter.builder("banking.ledger.dead-letters").register(meterRegistry);
+    }
+
+    // Told about every posting that was dead-lettered, after it has been moved out of the way.
+    void onDeadLetter(Consumer<TransactionEntity> listener) {
+        this.deadLetterListener = listener;
+    }
+
+    void enqueue(TransactionEntity transaction, IdempotencyKeyEntity idempotencyKey) {
+        queuedPostings.add(new LedgerPosting(transaction, idempotencyKey, LedgerPosting.NOT_JOURNALED));
+    }
+
+    void enqueue(TransactionEntity transaction, IdempotencyKeyEntity idempotencyKey, long sequence) {
+        unflushedSequences.add(sequence);
+        queuedPostings.add(new LedgerPosting(transaction, idempotencyKey, sequence));
+    }
+
+    public synchronized void flush() {
+        flushBatch();
+    }
+
+    public synchronized boolean flushAll() {
+        while (!pendingPostings.isEmpty() || !queuedPostings.isEmpty()) {
+            if (!flushBatch()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean flushBatch() {
+        while (pendingPostings.size() < flushBatchSize) {
+            LedgerPosting posting = queuedPostings.poll();
+            if (posting == null) {
+                break;
+            }
+            pendingPostings.add(posting);
+        }
+        if (pendingPostings.isEmpty()) {
+            return true;
+        }
+
+        try {
+            persist(pendingPostings);
+        } catch (RuntimeException e) {
+            if (isTransient(e)) {
+                log.warn("Ledger flush of {} transactions failed, retrying on next cycle", pendingPostings.size(), e);
+                return false;
+            }
+            log.warn("Ledger flush of {} transactions failed, persisting them one at a time", pendingPostings.size(), e);
+            return isolateFailures();
+        }
+
+        markFlushed(pendingPostings);
+        pendingPostings.clear();
+        advanceCheckpoint();
+        return true;
+    }
+
+    // A posting that keeps failing on its own is moved to ledger_dead_letters so it cannot hold back the rest.
+    private boolean isolateFailures() {
+        List<LedgerPosting> settled = new ArrayList<>();
+        Iterator<LedgerPosting> iterator = pendingPostings.iterator();
+        while (iterator.hasNext()) {
+            LedgerPosting posting = iterator.next();
+            try {
+                persist(List.of(posting));
+            } catch (RuntimeException e) {
+                if (isTransient(e)) {
+                    log.warn("Ledger flush interrupted by a transient failure, retrying on next cycle", e);
+                    break;
+                }
+                posting.failedAttempts++;
+                if (posting.failedAttempts < maxFlushAttempts || !deadLetter(posting, e)) {
+                    continue;
+                }
+            }
+            settled.add(posting);
+            iterator.remove();
+        }
+
+        markFlushed(settled);
+        advanceCheckpoint();
+        return pendingPostings.isEmpty();
+    }
+
+    private void persist(List<LedgerPosting> postings) {
+        List<TransactionEntity> transactions = new ArrayList<>(postings.size());
+        List<IdempotencyKeyEntity> idempotencyKeys = new ArrayList<>();
+        Map<UUID, BigDecimal> deltas = new HashMap<>();
+        for (LedgerPosting posting : postings) {
+            transactions.add(posting.transaction);
+            if (posting.idempotencyKey != null) {
+                idempotencyKeys.add(posting.idempotencyKey);
+            }
+            BalanceEffects.accumulate(deltas, posting.transaction);
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            transactionBatchRepository.insertTransactions(transactions);
+            transactionBatchRepository.insertIdempotencyKeys(idempotencyKeys);
+            transactionBatchRepository.applyBalanceDeltas(deltas);
+            accountBalanceCache.evictAfterCommit(deltas.keySet());
+        });
+    }
+
+    private boolean deadLetter(LedgerPosting posting, RuntimeException failure) {
+        TransactionEntity transaction = posting.transaction;
+        Long sequence = posting.sequence == LedgerPosting.NOT_JOURNALED ? null : posting.sequence;
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    transactionBatchRepository.insertDeadLetter(transaction, sequence, failure.getMessage()));
+        } catch (RuntimeException e) {
+            log.error("Could not dead-letter ledger transaction {}, keeping it queued", transaction.getId(), e);
+            return false;
+        }
+        deadLetters.increment();
+        log.error("Ledger transaction {} on account {} failed {} times and was moved to ledger_dead_letters; " +
+                        "its balance change is reverted in the ledger and was never applied to the database",
+                transaction.getId(), transaction.getAccount().getId(), posting.failedAttempts, failure);
+        try {
+            deadLetterListener.accept(transaction);
+        } catch (RuntimeException e) {
+            log.error("Could not revert dead-lettered ledger transaction {}", transaction.getId(), e);
+        }
+        return true;
+    }
+
+    private void markFlushed(List<LedgerPosting> postings) {
+        for (LedgerPosting posting : postings) {
+            if (posting.sequence != LedgerPosting.NOT_JOURNALED) {
+                unflushedSequences.remove(posting.sequence);
+                highestFlushedSequence = Math.max(highestFlushedSequence, posting.sequence);
+            }
+        }
+    }
+
+    private static boolean isTransient(RuntimeException e) {
+        return e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException
+                || e instanceof DataAccessResourceFailureException
+                || e instanceof CannotCreateTransactionException;
+    }
+
+    private void advanceCheckpoint() {
+        TransactionJournal transactionJournal = journal.getIfAvailable();
+        if (transactionJournal == null) {
+            return;
+        }
+        Long oldestUnflushed = unflushedSequences.isEmpty() ? null : unflushedSequences.first();
+        long persistedThrough = oldestUnflushed == null ? highestFlushedSequence : oldestUnflushed - 1;
+        try {
+            transactionJournal.checkpoint(persistedThrough);
+        } catch (RuntimeException e) {
+            log.warn("Could not advance journal checkpoint to {}", persistedThrough, e);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package io.bankingsystem.banking.service.ledger;
+
+import io.bankingsystem.banking.model.entity.IdempotencyKeyEntity;
+import io.bankingsystem.banking.model.entity.TransactionEntity;
+
+class LedgerPosting {
+    static final long NOT_JOURNALED = -1;
+
+    final TransactionEntity transaction;
+    final IdempotencyKeyEntity idempotencyKey;
+    final long sequence;
+    int failedAttempts;
+
+    LedgerPosting(TransactionEntity transaction, IdempotencyKeyEntity idempotencyKey, long sequence) {
+        this.transaction = transaction;
+        this.idempotencyKey = idempotencyKey;
+        this.sequence = sequence;
+    }
+}
@@ -2,8 +2,8 @@ package io.bankingsystem.banking.service.mappings;
 
 import io.bankingsystem.banking.model.dto.*;
 import io.bankingsystem.banking.model.entity.AccountEntity;
-import io.bankingsystem.banking.repository.CardRepository;
-import io.bankingsystem.banking.repository.TransactionRepository;
+import io.bankingsystem.banking.model.entity.CardEntity;
+import io.bankingsystem.banking.model.entity.TransactionEntity;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -28,7 +28,8 @@ public class AccountMapping {
                 account.getAccountDateOpened(),
                 account.getAccountDateClosed(),
                 account.getAccountStatus(),
-                account.getCustomer().getId()
+                account.getCustomer().getId(),
+                account.getVersion()
         );
     }
 
@@ -50,7 +51,7 @@ public class AccountMapping {
         return entity;
     }
 
-    public AccountCardsDto mapToAccountCardsDto(AccountEntity account, CardRepository cardRepository) {
+    public AccountCardsDto mapToAccountCardsDto(AccountEntity account, List<CardEntity> cards) {
         AccountCardsDto dto = new AccountCardsDto();
         dto.setId(account.getId());
         dto.setAccountNumber(account.getAccountNumber());
@@ -60,7 +61,7 @@ public class AccountMapping {
         dto.setAccountDateClosed(account.getAccountDateClosed());
         dto.setAccountStatus(account.getAccountStatus());
 
-        List<CardDto> cardDtos = cardRepository.findByAccountId(account.getId()).stream()
+        List<CardDto> cardDtos = cards.stream()
                 .map(cardMapping::mapToCardDto)
                 .toList();
         dto.setCards(cardDtos);
@@ -68,7 +69,7 @@ public class AccountMapping {
         return dto;
     }
 
-    public AccountTransactionsDto mapToAccountTransactionsDto(AccountEntity account, TransactionRepository transactionRepository) {
+    public AccountTransactionsDto mapToAccountTransactionsDto(AccountEntity account, List<TransactionEntity> transactions) {
         AccountTransactionsDto dto = new AccountTransactionsDto();
         dto.setId(account.getId());
         dto.setAccountNumber(account.getAccountNumber());
@@ -78,7 +79,7 @@ public class AccountMapping {
         dto.setAccountDateClosed(account.getAccountDateClosed());
         dto.setAccountStatus(account.getAccountStatus());
 
-        List<TransactionDto> transactionDtos = transactionRepository.findByAccountId(account.getId()).stream()
+        List<TransactionDto> transactionDtos = transactions.stream()
                 .map(transactionMapping::mapToTransactionDto)
                 .toList();
         dto.setTransactions(transactionDtos);
@@ -1,24 +1,26 @@
 package io.bankingsystem.banking.service.mappings;
 
 import io.bankingsystem.banking.model.dto.*;
+import io.bankingsystem.banking.model.entity.AccountEntity;
+import io.bankingsystem.banking.model.entity.CardEntity;
 import io.bankingsystem.banking.model.entity.CustomerEntity;
-import io.bankingsystem.banking.repository.AccountRepository;
-import io.bankingsystem.banking.repository.CardRepository;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import io.bankingsystem.banking.service.auth.PasswordHashingService;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
 public class CustomerMapping {
 
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final AccountMapping accountMapping;
 
 
-    public CustomerMapping(PasswordEncoder passwordEncoder, AccountMapping accountMapping) {
-        this.passwordEncoder = passwordEncoder;
+    public CustomerMapping(PasswordHashingService passwordHashingService, AccountMapping accountMapping) {
+        this.passwordHashingService = passwordHashingService;
         this.accountMapping = accountMapping;
     }
 
@@ -31,7 +33,7 @@ public class CustomerMapping {
         customerEntity.setCustomerPhoneNumber(customerDto.getCustomerPhoneNumber());
         customerEntity.setCustomerAddress(customerDto.getCustomerAddress());
         customerEntity.setCustomerRole(customerDto.getCustomerRole());
-        customerEntity.setCustomerPassword(passwordEncoder.encode(customerDto.getCustomerPassword()));
+        customerEntity.setCustomerPassword(passwordHashingService.hash(customerDto.getCustomerPassword()));
         return customerEntity;
     }
 
@@ -46,11 +48,12 @@ public class CustomerMapping {
         customerDto.setCustomerAddress(customerEntity.getCustomerAddress());
         customerDto.setCustomerPassword(customerEntity.getCustomerPassword());
         customerDto.setCustomerRole(customerEntity.getCustomerRole());
+        customerDto.setVersion(customerEntity.getVersion());
         return customerDto;
     }
 
 
-    public CustomerAccountsDto mapToCustomerAccountsDto(CustomerEntity customer, AccountRepository accountRepository) {
+    public CustomerAccountsDto mapToCustomerAccountsDto(CustomerEntity customer, List<AccountEntity> customerAccounts) {
         CustomerAccountsDto dto = new CustomerAccountsDto();
         dto.setId(customer.getId());
         dto.setCustomerFirstName(customer.getCustomerFirstName());
@@ -60,7 +63,7 @@ public class CustomerMapping {
         dto.setCustomerAddress(customer.getCustomerAddress());
         dto.setCustomerRole(customer.getCustomerRole());
 
-        List<AccountDto> accounts = accountRepository.findByCustomerId(customer.getId()).stream()
+        List<AccountDto> accounts = customerAccounts.stream()
                 .map(accountMapping::mapToAccountDto)
                 .collect(Collectors.toList());
         dto.setAccounts(accounts);
@@ -68,7 +71,7 @@ public class CustomerMapping {
         return dto;
     }
 
-    public CustomerAccountsCardsDto mapToCustomerAccountsCardsDto(CustomerEntity customer, AccountRepository accountRepository, CardRepository cardRepository) {
+    public CustomerAccountsCardsDto mapToCustomerAccountsCardsDto(CustomerEntity customer, List<AccountEntity> customerAccounts, Map<UUID, List<CardEntity>> cardsByAccount) {
         CustomerAccountsCardsDto dto = new CustomerAccountsCardsDto();
         dto.setId(customer.getId());
         dto.setCustomerFirstName(customer.getCustomerFirstName());
@@ -78,15 +81,16 @@ public class CustomerMapping {
         dto.setCustomerAddress(customer.getCustomerAddress());
         dto.setCustomerRole(customer.getCustomerRole());
 
-        List<AccountCardsDto> accountDtos = accountRepository.findByCustomerId(customer.getId()).stream()
-                .map(account -> accountMapping.mapToAccountCardsDto(account, cardRepository))
+        List<AccountCardsDto> accountDtos = customerAccounts.stream()
+                .map(account -> accountMapping.mapToAccountCardsDto(account, cardsByAccount.getOrDefault(account.getId(), List.of())))
                 .toList();
         dto.setAccounts(accountDtos);
 
         return dto;
     }
 
-    public CustomerEntity updateCustomerEntityFromDto(CustomerEntity customer, CustomerDto customerDto) {
+    // newPasswordHash is null when the request leaves the password as it is.
+    public CustomerEntity updateCustomerEntityFromDto(CustomerEntity customer, CustomerDto customerDto, String newPasswordHash) {
         customer.setCustomerFirstName(customerDto.getCustomerFirstName());
         customer.setCustomerLastName(customerDto.getCustomerLastName());
         customer.setCustomerDateOfBirth(customerDto.getCustomerDateOfBirth());
@@ -94,7 +98,9 @@ public class CustomerMapping {
         customer.setCustomerPhoneNumber(customerDto.getCustomerPhoneNumber());
         customer.setCustomerAddress(customerDto.getCustomerAddress());
         customer.setCustomerRole(customerDto.getCustomerRole());
-        customer.setCustomerPassword(passwordEncoder.encode(customerDto.getCustomerPassword()));
+        if (newPasswordHash != null) {
+            customer.setCustomerPassword(newPasswordHash);
+        }
         return customer;
     }
 
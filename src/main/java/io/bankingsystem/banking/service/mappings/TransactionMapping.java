@@ -2,10 +2,17 @@ package io.bankingsystem.banking.service.mappings;
 
 import io.bankingsystem.banking.model.dto.TransactionDto;
 import io.bankingsystem.banking.model.entity.TransactionEntity;
+import io.bankingsystem.banking.model.enum_fields.TransactionType;
+import io.bankingsystem.banking.service.validations.TransactionValidation;
 import org.springframework.stereotype.Service;
 
 @Service
 public class TransactionMapping {
+    private final TransactionValidation validationService;
+
+    public TransactionMapping(TransactionValidation validationService) {
+        this.validationService = validationService;
+    }
 
     public TransactionDto mapToTransactionDto(TransactionEntity transactionEntity) {
         return new TransactionDto(
@@ -25,7 +32,15 @@ public class TransactionMapping {
         transactionEntity.setTransactionAmount(transactionDto.getTransactionAmount());
         transactionEntity.setTransactionDate(transactionDto.getTransactionDate());
         transactionEntity.setTransactionDescription(transactionDto.getTransactionDescription());
-        transactionEntity.setTransactionDestination(transactionDto.getTransactionDestination());
+        transactionEntity.setTransactionDestination(transactionDto.getTransactionType() == TransactionType.TRANSFER
+                ? canonicalDestination(transactionDto.getTransactionDestination())
+                : transactionDto.getTransactionDestination());
         return transactionEntity;
     }
+
+    // Statements and balance sums find incoming transfers by comparing this column with the account id, so it
+    // is stored in the form UUID.toString() produces whatever the client sent.
+    private String canonicalDestination(String destination) {
+        return validationService.parseTransferDestination(destination).toString();
+    }
 }
@@ -0,0 +1,56 @@
+package io.bankingsystem.banking.service.reference;
+
+import io.bankingsystem.banking.model.dto.CardTypeDto;
+import io.bankingsystem.banking.model.entity.CardTypeEntity;
+import io.bankingsystem.banking.model.enum_fields.CardTypeName;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class CardTypeLookup {
+    static final CardTypeLookup EMPTY = new CardTypeLookup(List.of());
+
+    private final CardTypeName[] namesById;
+    private final boolean[] presentById;
+    private final Integer[] idsByName;
+    private final int[] ids;
+
+    CardTypeLookup(List<CardTypeEntity> cardTypes) {
+        int maxId = cardTypes.stream().mapToInt(CardTypeEntity::getId).max().orElse(-1);
+        this.namesById = new CardTypeName[maxId + 1];
+        this.presentById = new boolean[maxId + 1];
+        this.idsByName = new Integer[CardTypeName.values().length];
+        this.ids = cardTypes.stream().mapToInt(CardTypeEntity::getId).sorted().toArray();
+        for (CardTypeEntity cardType : cardTypes) {
+            namesById[cardType.getId()] = cardType.getCardTypeName();
+            presentById[cardType.getId()] = true;
+            if (cardType.getCardTypeName() != null && idsByName[cardType.getCardTypeName().ordinal()] == null) {
+                idsByName[cardType.getCardTypeName().ordinal()] = cardType.getId();
+            }
+        }
+    }
+
+    public boolean contains(Integer id) {
+        return id != null && id >= 0 && id < presentById.length && presentById[id];
+    }
+
+    public CardTypeName nameOf(Integer id) {
+        return contains(id) ? namesById[id] : null;
+    }
+
+    public Integer idOf(CardTypeName name) {
+        return name == null ? null : idsByName[name.ordinal()];
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public List<CardTypeDto> toDtos() {
+        List<CardTypeDto> dtos = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            dtos.add(new CardTypeDto(id, namesById[id]));
+        }
+        return dtos;
+    }
+}
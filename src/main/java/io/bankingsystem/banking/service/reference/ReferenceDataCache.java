@@ -0,0 +1,43 @@
+package io.bankingsystem.banking.service.reference;
+
+import io.bankingsystem.banking.repository.CardTypeRepository;
+import io.bankingsystem.banking.service.routing.DataSourceRouting;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ReferenceDataCache {
+    private final CardTypeRepository cardTypeRepository;
+
+    private volatile CardTypeLookup cardTypes = CardTypeLookup.EMPTY;
+
+    public ReferenceDataCache(CardTypeRepository cardTypeRepository) {
+        this.cardTypeRepository = cardTypeRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        refresh();
+    }
+
+    public synchronized void refresh() {
+        cardTypes = new CardTypeLookup(DataSourceRouting.onPrimary(cardTypeRepository::findAll));
+    }
+
+    public CardTypeLookup cardTypes() {
+        return cardTypes;
+    }
+
+    // Rows added behind our back (e.g. by a migration) are picked up on the first miss.
+    public boolean hasCardType(Integer id) {
+        if (cardTypes.contains(id)) {
+            return true;
+        }
+        if (id == null) {
+            return false;
+        }
+        refresh();
+        return cardTypes.contains(id);
+    }
+}
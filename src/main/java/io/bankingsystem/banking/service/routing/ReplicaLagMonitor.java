@@ -0,0 +1,80 @@
+package io.bankingsystem.banking.service.routing;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Writes a heartbeat row on the primary and reads it back from every replica. A replica only
+ * serves reads while the heartbeat it returns is no older than the lag tolerance, so the
+ * measured lag moves in steps of the check interval.
+ */
+public class ReplicaLagMonitor {
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final JdbcTemplate primary;
+    private final List<JdbcTemplate> replicas;
+    private final ReplicaRoutingDataSource routingDataSource;
+    private final Duration maxLag;
+
+    public ReplicaLagMonitor(DataSource primary, ReplicaRoutingDataSource routingDataSource, Duration maxLag) {
+        this.primary = new JdbcTemplate(primary);
+        this.replicas = routingDataSource.getReplicas().stream().map(JdbcTemplate::new).toList();
+        this.routingDataSource = routingDataSource;
+        this.maxLag = maxLag;
+        if (maxLag.isNegative()) {
+            routingDataSource.setAvailableReplicas(IntStream.range(0, replicas.size()).boxed().toList());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${banking.datasource.replica-lag-check-ms:1000}")
+    public void check() {
+        if (maxLag.isNegative()) {
+            return;
+        }
+        LocalDateTime beat = LocalDateTime.now();
+        try {
+            writeHeartbeat(beat);
+        } catch (DataAccessException e) {
+            log.warn("Could not write replication heartbeat", e);
+            return;
+        }
+        List<Integer> available = new ArrayList<>();
+        for (int i = 0; i < replicas.size(); i++) {
+            try {
+                LocalDateTime seen = replicas.get(i).queryForObject(
+                        "SELECT beat_at FROM replication_heartbeat WHERE id = 1", LocalDateTime.class);
+                if (seen != null && Duration.between(seen, beat).compareTo(maxLag) <= 0) {
+                    available.add(i);
+                }
+            } catch (DataAccessException e) {
+                log.debug("Replica {} did not return a heartbeat", i, e);
+            }
+        }
+        if (!available.equals(routingDataSource.getAvailableReplicas())) {
+            log.info("Replicas serving reads: {} of {}", available.size(), replicas.size());
+        }
+        routingDataSource.setAvailableReplicas(available);
+    }
+
+    private void writeHeartbeat(LocalDateTime beat) {
+        if (primary.update("UPDATE replication_heartbeat SET beat_at = ? WHERE id = 1", beat) > 0) {
+            return;
+        }
+        try {
+            primary.update("INSERT INTO replication_heartbeat (id, beat_at) VALUES (1, ?)", beat);
+        } catch (DuplicateKeyException e) {
+            primary.update("UPDATE replication_heartbeat SET beat_at = ? WHERE id = 1", beat);
+        }
+    }
+}
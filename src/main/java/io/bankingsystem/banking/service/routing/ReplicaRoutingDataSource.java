@@ -0,0 +1,95 @@
+package io.bankingsystem.banking.service.routing;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.bankingsystem.banking.service.support.AfterCommit;
+import io.bankingsystem.banking.service.support.BoundedCache;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to a replica that is within the lag tolerance and everything
+ * else to the primary. Must sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}
+ * so the connection is picked after the transaction's read-only flag is known.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+    private static final String PRIMARY = "primary";
+    private static final int MAX_TRACKED_WRITERS = 100_000;
+
+    private final List<HikariDataSource> replicas;
+    private final BoundedCache<String, Boolean> recentWriters;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    private volatile List<Integer> availableReplicas = List.of();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<HikariDataSource> replicas, Duration readYourWritesWindow) {
+        this.replicas = List.copyOf(replicas);
+        this.recentWriters = readYourWritesWindow.isZero() ? null : new BoundedCache<>(MAX_TRACKED_WRITERS, readYourWritesWindow);
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            targets.put(replicaKey(i), replicas.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    public List<HikariDataSource> getReplicas() {
+        return replicas;
+    }
+
+    public List<Integer> getAvailableReplicas() {
+        return availableReplicas;
+    }
+
+    public void setAvailableReplicas(List<Integer> replicaIndexes) {
+        availableReplicas = List.copyOf(replicaIndexes);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return PRIMARY;
+        }
+        String principal = currentPrincipal();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (principal != null && recentWriters != null) {
+                AfterCommit.run(() -> recentWriters.put(principal, Boolean.TRUE));
+            }
+            return PRIMARY;
+        }
+        if (DataSourceRouting.isPrimaryRequired()) {
+            return PRIMARY;
+        }
+        if (principal != null && recentWriters != null && recentWriters.get(principal) != null) {
+            return PRIMARY;
+        }
+        List<Integer> candidates = availableReplicas;
+        if (candidates.isEmpty()) {
+            return PRIMARY;
+        }
+        return replicaKey(candidates.get(Math.floorMod(nextReplica.getAndIncrement(), candidates.size())));
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(HikariDataSource::close);
+    }
+
+    private static String currentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : null;
+    }
+
+    private static String replicaKey(int index) {
+        return "replica-" + index;
+    }
+}
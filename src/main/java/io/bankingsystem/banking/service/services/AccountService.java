@@ -2,79 +2,170 @@ package io.bankingsystem.banking.service.services;
 
 import io.bankingsystem.banking.model.dto.*;
 import io.bankingsystem.banking.model.entity.AccountEntity;
+import io.bankingsystem.banking.model.entity.CardEntity;
 import io.bankingsystem.banking.model.entity.CustomerEntity;
+import io.bankingsystem.banking.model.entity.TransactionEntity;
 import io.bankingsystem.banking.model.enum_fields.AccountStatus;
+import io.bankingsystem.banking.repository.AccountBalanceSnapshotRepository;
 import io.bankingsystem.banking.repository.AccountRepository;
 import io.bankingsystem.banking.repository.CardRepository;
 import io.bankingsystem.banking.repository.CustomerRepository;
+import io.bankingsystem.banking.repository.SparseFieldsetRepository;
 import io.bankingsystem.banking.repository.TransactionRepository;
+import io.bankingsystem.banking.service.ledger.LedgerEngine;
 import io.bankingsystem.banking.service.mappings.AccountMapping;
+import io.bankingsystem.banking.service.routing.DataSourceRouting;
+import io.bankingsystem.banking.service.support.AccountBalanceCache;
+import io.bankingsystem.banking.service.support.CachedAccount;
+import io.bankingsystem.banking.service.support.ETags;
+import io.bankingsystem.banking.service.support.FieldSet;
+import io.bankingsystem.banking.service.support.InClauseBatches;
+import io.bankingsystem.banking.service.support.JsonArrayStreamer;
 import io.bankingsystem.banking.service.validations.AccountValidation;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
 public class AccountService {
+    private static final int MAX_TRANSACTIONS_PER_ACCOUNT = 500;
+    private static final Map<String, String> SELECTABLE_FIELDS = Map.of(
+            "id", "id",
+            "accountNumber", "accountNumber",
+            "accountType", "accountType",
+            "accountCurrentBalance", "accountCurrentBalance",
+            "accountDateOpened", "accountDateOpened",
+            "accountDateClosed", "accountDateClosed",
+            "accountStatus", "accountStatus",
+            "customerId", "customer.id");
+
     private final AccountRepository accountRepository;
     private final CustomerRepository customerRepository;
     private final AccountMapping accountMapping;
     private final AccountValidation validationService;
     private final CardRepository cardRepository;
     private final TransactionRepository transactionRepository;
+    private final ObjectProvider<LedgerEngine> ledgerEngine;
+    private final AccountBalanceSnapshotRepository snapshotRepository;
+    private final AccountBalanceCache accountBalanceCache;
+    private final TransactionTemplate readOnlyTransaction;
+    private final SparseFieldsetRepository sparseFieldsetRepository;
+    private final JsonArrayStreamer jsonArrayStreamer;
 
-    public AccountService(AccountRepository accountRepository, CustomerRepository customerRepository, AccountMapping accountMapping, AccountValidation validationService, CardRepository cardRepository, TransactionRepository transactionRepository) {
+    public AccountService(AccountRepository accountRepository, CustomerRepository customerRepository, AccountMapping accountMapping, AccountValidation validationService, CardRepository cardRepository, TransactionRepository transactionRepository, ObjectProvider<LedgerEngine> ledgerEngine, AccountBalanceSnapshotRepository snapshotRepository, AccountBalanceCache accountBalanceCache, PlatformTransactionManager transactionManager, SparseFieldsetRepository sparseFieldsetRepository, JsonArrayStreamer jsonArrayStreamer) {
         this.accountRepository = accountRepository;
         this.customerRepository = customerRepository;
         this.accountMapping = accountMapping;
         this.validationService = validationService;
         this.cardRepository = cardRepository;
         this.transactionRepository = transactionRepository;
+        this.ledgerEngine = ledgerEngine;
+        this.snapshotRepository = snapshotRepository;
+        this.accountBalanceCache = accountBalanceCache;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.sparseFieldsetRepository = sparseFieldsetRepository;
+        this.jsonArrayStreamer = jsonArrayStreamer;
     }
 
 
     public List<AccountDto> getAllAccounts() {
-        return accountRepository.findAll().stream().map(accountMapping::mapToAccountDto).collect(Collectors.toList());
+        return accountRepository.findAllDtos();
+    }
+
+    public SparseRowsDto getAllAccounts(String fields) {
+        FieldSet fieldSet = FieldSet.parse(fields, SELECTABLE_FIELDS);
+        return new SparseRowsDto(fieldSet.names(), sparseFieldsetRepository.findAll(AccountEntity.class, fieldSet.paths()));
     }
 
     public AccountDto getAccountById(UUID id) {
-        AccountEntity account = accountRepository.findById(id)
+        return getCachedAccount(id).getAccount();
+    }
+
+    public CachedAccount getCachedAccount(UUID id) {
+        CachedAccount cached = accountBalanceCache.get(id);
+        if (cached != null) {
+            return cached;
+        }
+        long readVersion = accountBalanceCache.beginRead();
+        AccountDto account = DataSourceRouting.onPrimary(() -> accountRepository.findDtoById(id))
                 .orElseThrow(() -> new EntityNotFoundException("Account with id: " + id + " not found"));
-        return accountMapping.mapToAccountDto(account);
+        return accountBalanceCache.populate(account, readVersion);
+    }
+
+    public String getAccountsETag(String fields) {
+        String resource = fields == null ? "accounts" : "accounts?fields=" + FieldSet.parse(fields, SELECTABLE_FIELDS).key();
+        return ETags.of(resource, accountRepository.findAllVersions());
+    }
+
+    public String getAccountETag(AccountDto account) {
+        return ETags.of("account", List.of(new EntityVersionDto(account.getId(), account.getVersion())));
+    }
+
+    public String getAccountsWithCardsETag() {
+        return readOnlyTransaction.execute(status ->
+                ETags.of("accounts-cards", accountRepository.findAllVersions(), cardRepository.findAllVersions()));
+    }
+
+    public String getAccountWithCardsETag(UUID accountId) {
+        return readOnlyTransaction.execute(status -> accountRepository.findVersionById(accountId)
+                .map(account -> ETags.of("account-cards", List.of(account), cardRepository.findVersionsByAccountId(accountId)))
+                .orElse(null));
     }
 
     public List<AccountCardsDto> getAccountsWithCards() {
-        List<AccountEntity> accounts = accountRepository.findAll();
-        return accounts.stream()
-                .map(account -> accountMapping.mapToAccountCardsDto(account, cardRepository))
-                .collect(Collectors.toList());
+        return readOnlyTransaction.execute(status -> {
+            List<AccountEntity> accounts = accountRepository.findAll();
+            Map<UUID, List<CardEntity>> cardsByAccount = InClauseBatches
+                    .load(accounts.stream().map(AccountEntity::getId).toList(), cardRepository::findByAccountIdIn).stream()
+                    .collect(Collectors.groupingBy(card -> card.getAccount().getId()));
+            return accounts.stream()
+                    .map(account -> accountMapping.mapToAccountCardsDto(account, cardsByAccount.getOrDefault(account.getId(), List.of())))
+                    .collect(Collectors.toList());
+        });
     }
 
     public AccountCardsDto getAccountWithCardsById(UUID accountId) {
-        AccountEntity account = accountRepository.findById(accountId)
-                .orElseThrow(() -> new EntityNotFoundException("Account not found with id: " + accountId));
-        return accountMapping.mapToAccountCardsDto(account, cardRepository);
+        return readOnlyTransaction.execute(status -> {
+            AccountEntity account = accountRepository.findById(accountId)
+                    .orElseThrow(() -> new EntityNotFoundException("Account not found with id: " + accountId));
+            return accountMapping.mapToAccountCardsDto(account, cardRepository.findByAccountId(accountId));
+        });
     }
 
-    public List<AccountTransactionsDto> getAccountsWithTransactions() {
-        List<AccountEntity> accounts = accountRepository.findAll();
-        return accounts.stream()
-                .map(account -> accountMapping.mapToAccountTransactionsDto(account, transactionRepository))
-                .collect(Collectors.toList());
+    public List<AccountTransactionsDto> getAccountsWithTransactions(int limit) {
+        validateTransactionLimit(limit);
+        return readOnlyTransaction.execute(status -> mapToAccountTransactionsDtos(accountRepository.findAll(), limit));
     }
 
-    public AccountTransactionsDto getAccountWithTransactionsById(UUID accountId) {
-        AccountEntity account = accountRepository.findById(accountId)
-                .orElseThrow(() -> new EntityNotFoundException("Account not found with id: " + accountId));
-        return accountMapping.mapToAccountTransactionsDto(account, transactionRepository);
+    public void streamAccountsWithTransactions(int limit, OutputStream outputStream) throws IOException {
+        validateTransactionLimit(limit);
+        jsonArrayStreamer.write(outputStream, AccountTransactionsDto.class, accountRepository::findChunkAfter,
+                AccountEntity::getId, accounts -> mapToAccountTransactionsDtos(accounts, limit));
+    }
+
+    public AccountTransactionsDto getAccountWithTransactionsById(UUID accountId, int limit) {
+        validateTransactionLimit(limit);
+        return readOnlyTransaction.execute(status -> {
+            AccountEntity account = accountRepository.findById(accountId)
+                    .orElseThrow(() -> new EntityNotFoundException("Account not found with id: " + accountId));
+            return accountMapping.mapToAccountTransactionsDto(account, transactionRepository.findLatestByAccountIdIn(List.of(accountId), limit));
+        });
     }
 
+    @Transactional
     public AccountDto createAccount(AccountDto accountDto) {
         CustomerEntity customer = customerRepository.findById(accountDto.getCustomerId())
                 .orElseThrow(() -> new EntityNotFoundException("Customer not found with ID: " + accountDto.getCustomerId()));
@@ -86,25 +177,28 @@ public class AccountService {
         return accountMapping.mapToAccountDto(savedAccount);
     }
 
+    @Transactional
     public AccountDto updateAccountById(UUID id, AccountDto accountDto) {
+        validationService.validateAccountDto(accountDto);
+        lockInLedger(id);
         AccountEntity account = accountRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Account not found with ID: " + id));
-        validationService.validateAccountDto(accountDto);
         account.setAccountType(accountDto.getAccountType());
         account.setAccountStatus(accountDto.getAccountStatus());
         account.setAccountCurrentBalance(accountDto.getAccountCurrentBalance());
         AccountEntity updatedAccount = accountRepository.save(account);
-        return accountMapping.mapToAccountDto(updatedAccount);
+        return publish(updatedAccount);
     }
 
     @Transactional
     public AccountDto updateAccountCurrentBalance(UUID id, BigDecimal newCurrentBalance) {
+        validationService.validateNewBalance(newCurrentBalance);
+        lockInLedger(id);
         AccountEntity accountEntity = accountRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Account not found"));
-        validationService.validateNewBalance(newCurrentBalance);
         accountEntity.setAccountCurrentBalance(newCurrentBalance);
         AccountEntity savedEntity = accountRepository.save(accountEntity);
-        return accountMapping.mapToAccountDto(savedEntity);
+        return publish(savedEntity);
     }
 
     @Transactional
@@ -114,25 +208,53 @@ public class AccountService {
                 .orElseThrow(() -> new EntityNotFoundException("Account not found"));
         accountEntity.setAccountDateClosed(newDateClosed);
         AccountEntity savedEntity = accountRepository.save(accountEntity);
-        return accountMapping.mapToAccountDto(savedEntity);
+        return publish(savedEntity);
     }
 
     @Transactional
     public AccountDto updateAccountStatus(UUID id, String newStatus) {
         validationService.validateAccountStatus(newStatus);
+        lockInLedger(id);
         AccountEntity accountEntity = accountRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Account not found"));
         accountEntity.setAccountStatus(AccountStatus.valueOf(newStatus));
         AccountEntity savedEntity = accountRepository.save(accountEntity);
-        return accountMapping.mapToAccountDto(savedEntity);
+        return publish(savedEntity);
     }
 
     @Transactional
     public void deleteAccount(UUID accountId) {
+        lockInLedger(accountId);
         AccountEntity account = accountRepository.findById(accountId)
                 .orElseThrow(() -> new EntityNotFoundException("Account not found"));
         cardRepository.deleteByAccountId(accountId);
         transactionRepository.deleteByAccountId(accountId);
+        snapshotRepository.deleteByAccountId(accountId);
         accountRepository.delete(account);
+        accountBalanceCache.evictAfterCommit(List.of(accountId));
+    }
+
+    private AccountDto publish(AccountEntity account) {
+        accountBalanceCache.updateAfterCommit(List.of(account.getId()), () -> List.of(accountMapping.mapToAccountDto(account)));
+        return accountMapping.mapToAccountDto(account);
+    }
+
+    public void validateTransactionLimit(int limit) {
+        if (limit < 1 || limit > MAX_TRANSACTIONS_PER_ACCOUNT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_TRANSACTIONS_PER_ACCOUNT);
+        }
+    }
+
+    private List<AccountTransactionsDto> mapToAccountTransactionsDtos(List<AccountEntity> accounts, int limit) {
+        Map<UUID, List<TransactionEntity>> transactionsByAccount = InClauseBatches
+                .load(accounts.stream().map(AccountEntity::getId).toList(), ids -> transactionRepository.findLatestByAccountIdIn(ids, limit)).stream()
+                .collect(Collectors.groupingBy(transaction -> transaction.getAccount().getId()));
+        return accounts.stream()
+                .map(account -> accountMapping.mapToAccountTransactionsDto(account, transactionsByAccount.getOrDefault(account.getId(), List.of())))
+                .collect(Collectors.toList());
+    }
+
+    private void lockInLedger(UUID accountId) {
+        ledgerEngine.ifAvailable(ledger -> ledger.lockForUpdate(accountId));
     }
 }
@@ -0,0 +1,131 @@
+package io.bankingsystem.banking.service.services;
+
+import io.bankingsystem.banking.model.dto.AccountStatementDto;
+import io.bankingsystem.banking.model.dto.StatementEntryDto;
+import io.bankingsystem.banking.model.entity.AccountEntity;
+import io.bankingsystem.banking.model.entity.TransactionEntity;
+import io.bankingsystem.banking.repository.AccountRepository;
+import io.bankingsystem.banking.repository.AccountStatementRepository;
+import io.bankingsystem.banking.service.support.BalanceEffects;
+import io.bankingsystem.banking.service.support.TransactionCursor;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+@Service
+public class AccountStatementService {
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final Comparator<UUID> ID_ORDER = Comparator
+            .comparing(UUID::getMostSignificantBits, Long::compareUnsigned)
+            .thenComparing(UUID::getLeastSignificantBits, Long::compareUnsigned);
+    private static final Comparator<TransactionEntity> ENTRY_ORDER = Comparator
+            .comparing(TransactionEntity::getTransactionDate)
+            .thenComparing(TransactionEntity::getId, ID_ORDER);
+
+    private final AccountRepository accountRepository;
+    private final AccountStatementRepository statementRepository;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public AccountStatementService(AccountRepository accountRepository, AccountStatementRepository statementRepository, PlatformTransactionManager transactionManager) {
+        this.accountRepository = accountRepository;
+        this.statementRepository = statementRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public AccountStatementDto getStatement(UUID accountId, LocalDateTime from, LocalDateTime to, String cursor, int limit) {
+        if (from == null) {
+            throw new IllegalArgumentException("Statement start date is required");
+        }
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        if (!from.isBefore(end)) {
+            throw new IllegalArgumentException("Statement start date must be before its end date");
+        }
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        TransactionCursor after = cursor == null || cursor.isBlank() ? null : TransactionCursor.decode(cursor);
+        return readOnlyTransaction.execute(status -> buildStatement(accountId, from, end, after, limit));
+    }
+
+    private AccountStatementDto buildStatement(UUID accountId, LocalDateTime from, LocalDateTime to, TransactionCursor after, int limit) {
+        AccountEntity account = accountRepository.findById(accountId)
+                .orElseThrow(() -> new EntityNotFoundException("Account not found with id: " + accountId));
+
+        BigDecimal openingBalance = account.getAccountCurrentBalance()
+                .subtract(statementRepository.sumBalanceChanges(accountId, from, null, null));
+        BigDecimal closingBalance = openingBalance.add(statementRepository.sumBalanceChanges(accountId, from, to, null));
+        BigDecimal balance = after == null ? openingBalance
+                : openingBalance.add(statementRepository.sumBalanceChanges(accountId, from, to, after));
+
+        List<TransactionEntity> outgoing = statementRepository.findOutgoing(accountId, from, to, after, limit + 1);
+        List<TransactionEntity> incoming = statementRepository.findIncoming(accountId, from, to, after, limit + 1);
+
+        List<StatementEntryDto> entries = new ArrayList<>(limit);
+        TransactionEntity last = null;
+        int out = 0;
+        int in = 0;
+        while (entries.size() < limit && (out < outgoing.size() || in < incoming.size())) {
+            int order = out == outgoing.size() ? 1
+                    : in == incoming.size() ? -1
+                    : ENTRY_ORDER.compare(outgoing.get(out), incoming.get(in));
+            // A transfer to the same account is on both sides; it becomes one entry so a page never ends
+            // between its halves and never holds more than limit entries.
+            BigDecimal change;
+            UUID counterparty;
+            if (order == 0) {
+                last = outgoing.get(out++);
+                in++;
+                change = BalanceEffects.sourceChange(last).add(last.getTransactionAmount());
+                counterparty = accountId;
+            } else if (order < 0) {
+                last = outgoing.get(out++);
+                change = BalanceEffects.sourceChange(last);
+                counterparty = counterpartyOf(last);
+            } else {
+                last = incoming.get(in++);
+                change = last.getTransactionAmount();
+                counterparty = last.getAccount().getId();
+            }
+            balance = balance.add(change);
+            entries.add(toEntry(last, counterparty, change, balance));
+        }
+
+        boolean hasMore = out < outgoing.size() || in < incoming.size();
+        String nextCursor = hasMore ? new TransactionCursor(last.getTransactionDate(), last.getId()).encode() : null;
+        return new AccountStatementDto(accountId, account.getAccountNumber(), from, to, openingBalance, closingBalance, entries, nextCursor);
+    }
+
+    private UUID counterpartyOf(TransactionEntity transaction) {
+        String destination = transaction.getTransactionDestination();
+        if (destination == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(destination);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private StatementEntryDto toEntry(TransactionEntity transaction, UUID counterparty, BigDecimal change, BigDecimal runningBalance) {
+        return new StatementEntryDto(
+                transaction.getId(),
+                transaction.getTransactionDate(),
+                transaction.getTransactionType(),
+                transaction.getTransactionDescription(),
+                counterparty,
+                transaction.getTransactionAmount(),
+                change,
+                runningBalance
+        );
+    }
+}
@@ -0,0 +1,64 @@
+package io.bankingsystem.banking.service.services;
+
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import io.bankingsystem.banking.model.dto.LoginRequestDto;
+import io.bankingsystem.banking.model.dto.RefreshRequestDto;
+import io.bankingsystem.banking.model.dto.TokenResponseDto;
+import io.bankingsystem.banking.model.entity.CustomerEntity;
+import io.bankingsystem.banking.repository.CustomerRepository;
+import io.bankingsystem.banking.service.auth.PasswordHashingService;
+import io.bankingsystem.banking.service.auth.TokenService;
+import io.bankingsystem.banking.service.routing.DataSourceRouting;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Service
+public class AuthService {
+    private final CustomerRepository customerRepository;
+    private final PasswordHashingService passwordHashingService;
+    private final TokenService tokenService;
+    private final String unknownCustomerHash;
+
+    public AuthService(CustomerRepository customerRepository, PasswordHashingService passwordHashingService, TokenService tokenService) {
+        this.customerRepository = customerRepository;
+        this.passwordHashingService = passwordHashingService;
+        this.tokenService = tokenService;
+        this.unknownCustomerHash = passwordHashingService.hash(UUID.randomUUID().toString());
+    }
+
+    public TokenResponseDto login(LoginRequestDto loginRequest) {
+        if (loginRequest == null || loginRequest.getEmail() == null || loginRequest.getPassword() == null) {
+            throw new BadCredentialsException("Email and password are required");
+        }
+        Optional<CustomerEntity> customer = DataSourceRouting.onPrimary(() ->
+                customerRepository.findByCustomerEmail(loginRequest.getEmail().trim()));
+        // Hash against a dummy value for unknown emails so response time does not reveal which emails exist.
+        String passwordHash = customer.map(CustomerEntity::getCustomerPassword).orElse(unknownCustomerHash);
+        if (!passwordHashingService.matches(loginRequest.getPassword(), passwordHash) || customer.isEmpty()) {
+            throw new BadCredentialsException("Invalid email or password");
+        }
+        CustomerEntity authenticated = customer.get();
+        String storedHash = passwordHashingService.upgradeIfNeeded(authenticated.getId(), loginRequest.getPassword(), passwordHash);
+        return tokenService.issueTokens(authenticated.getId(), authenticated.getCustomerRole(), storedHash);
+    }
+
+    public TokenResponseDto refresh(RefreshRequestDto refreshRequest) {
+        if (refreshRequest == null || refreshRequest.getRefreshToken() == null) {
+            throw new BadCredentialsException("Refresh token is required");
+        }
+        String refreshToken = refreshRequest.getRefreshToken();
+        UUID customerId;
+        try {
+            customerId = tokenService.verifyRefreshToken(refreshToken);
+        } catch (JWTVerificationException e) {
+            throw new BadCredentialsException("Invalid or expired refresh token");
+        }
+        CustomerEntity customer = DataSourceRouting.onPrimary(() -> customerRepository.findById(customerId))
+                .filter(c -> tokenService.isIssuedForPassword(refreshToken, c.getCustomerPassword()))
+                .orElseThrow(() -> new BadCredentialsException("Invalid or expired refresh token"));
+        return tokenService.issueTokens(customer.getId(), customer.getCustomerRole(), customer.getCustomerPassword());
+    }
+}
@@ -0,0 +1,129 @@
+package io.bankingsystem.banking.service.services;
+
+import io.bankingsystem.banking.model.dto.AccountBalanceDto;
+import io.bankingsystem.banking.model.entity.AccountBalanceSnapshotEntity;
+import io.bankingsystem.banking.model.entity.AccountEntity;
+import io.bankingsystem.banking.repository.AccountBalanceSnapshotRepository;
+import io.bankingsystem.banking.repository.AccountRepository;
+import io.bankingsystem.banking.repository.AccountStatementRepository;
+import io.bankingsystem.banking.repository.TransactionRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+@Service
+public class BalanceSnapshotService {
+    private static final Logger log = LoggerFactory.getLogger(BalanceSnapshotService.class);
+    private static final int CHUNK_SIZE = 500;
+
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final AccountStatementRepository statementRepository;
+    private final AccountBalanceSnapshotRepository snapshotRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public BalanceSnapshotService(AccountRepository accountRepository, TransactionRepository transactionRepository, AccountStatementRepository statementRepository, AccountBalanceSnapshotRepository snapshotRepository, PlatformTransactionManager transactionManager) {
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.statementRepository = statementRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Scheduled(cron = "${banking.snapshots.cron:0 15 0 * * *}")
+    public void snapshotPreviousDay() {
+        LocalDate day = LocalDate.now().minusDays(1);
+        int accounts = snapshotDay(day);
+        log.info("Wrote {} balance snapshots for {}", accounts, day);
+    }
+
+    public int snapshotDay(LocalDate day) {
+        LocalDateTime start = day.atStartOfDay();
+        LocalDateTime end = day.plusDays(1).atStartOfDay();
+        if (end.isAfter(LocalDateTime.now())) {
+            throw new IllegalArgumentException("Snapshots can only be taken for days that have ended");
+        }
+
+        Set<UUID> touched = new LinkedHashSet<>(transactionRepository.findAccountIdsWithActivity(start, end));
+        for (String destination : transactionRepository.findTransferDestinationsWithActivity(start, end)) {
+            try {
+                touched.add(UUID.fromString(destination));
+            } catch (IllegalArgumentException e) {
+                log.warn("Skipping malformed transfer destination {}", destination);
+            }
+        }
+
+        List<UUID> accountIds = new ArrayList<>(touched);
+        int written = 0;
+        for (int from = 0; from < accountIds.size(); from += CHUNK_SIZE) {
+            List<UUID> chunk = accountIds.subList(from, Math.min(from + CHUNK_SIZE, accountIds.size()));
+            written += transactionTemplate.execute(status -> writeSnapshots(day, end, chunk));
+        }
+        return written;
+    }
+
+    public AccountBalanceDto getBalanceAt(UUID accountId, LocalDateTime at) {
+        if (at == null) {
+            throw new IllegalArgumentException("Balance date is required");
+        }
+        return readOnlyTransaction.execute(status -> {
+            AccountEntity account = accountRepository.findById(accountId)
+                    .orElseThrow(() -> new EntityNotFoundException("Account not found with id: " + accountId));
+
+            AccountBalanceSnapshotEntity snapshot = snapshotRepository
+                    .findFirstByAccountIdAndSnapshotDateLessThanOrderBySnapshotDateDesc(accountId, at.toLocalDate())
+                    .orElse(null);
+            if (snapshot == null) {
+                BigDecimal balance = account.getAccountCurrentBalance()
+                        .subtract(statementRepository.sumBalanceChanges(accountId, at, null, null));
+                return new AccountBalanceDto(accountId, at, balance, null);
+            }
+
+            LocalDateTime snapshotEnd = snapshot.getSnapshotDate().plusDays(1).atStartOfDay();
+            BigDecimal balance = snapshot.getClosingBalance()
+                    .add(statementRepository.sumBalanceChanges(accountId, snapshotEnd, at, null));
+            return new AccountBalanceDto(accountId, at, balance, snapshot.getSnapshotDate());
+        });
+    }
+
+    private int writeSnapshots(LocalDate day, LocalDateTime end, List<UUID> accountIds) {
+        Map<UUID, BigDecimal> changesSince = statementRepository.sumBalanceChangesSince(accountIds, end);
+        Map<UUID, AccountBalanceSnapshotEntity> existing = new HashMap<>();
+        for (AccountBalanceSnapshotEntity snapshot : snapshotRepository.findBySnapshotDateAndAccountIdIn(day, accountIds)) {
+            existing.put(snapshot.getAccountId(), snapshot);
+        }
+
+        List<AccountBalanceSnapshotEntity> snapshots = new ArrayList<>(accountIds.size());
+        for (AccountEntity account : accountRepository.findAllById(accountIds)) {
+            BigDecimal closingBalance = account.getAccountCurrentBalance()
+                    .subtract(changesSince.getOrDefault(account.getId(), BigDecimal.ZERO));
+            AccountBalanceSnapshotEntity snapshot = existing.get(account.getId());
+            if (snapshot == null) {
+                snapshot = new AccountBalanceSnapshotEntity(account.getId(), day, closingBalance);
+            } else {
+                snapshot.setClosingBalance(closingBalance);
+            }
+            snapshots.add(snapshot);
+        }
+        snapshotRepository.saveAll(snapshots);
+        return snapshots.size();
+    }
+}
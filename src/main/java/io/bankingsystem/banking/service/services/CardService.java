@@ -8,14 +8,17 @@ import io.bankingsystem.banking.repository.AccountRepository;
 import io.bankingsystem.banking.repository.CardRepository;
 import io.bankingsystem.banking.repository.CardTypeRepository;
 import io.bankingsystem.banking.service.mappings.CardMapping;
+import io.bankingsystem.banking.service.reference.ReferenceDataCache;
+import io.bankingsystem.banking.service.support.JsonArrayStreamer;
 import io.bankingsystem.banking.service.validations.CardValidation;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.transaction.Transactional;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 @Service
 public class CardService {
     private final CardRepository cardRepository;
@@ -23,29 +26,36 @@ public class CardService {
     private final CardTypeRepository cardTypeRepository;
     private final CardMapping mappingService;
     private final CardValidation validationService;
+    private final ReferenceDataCache referenceDataCache;
+    private final JsonArrayStreamer jsonArrayStreamer;
 
-    public CardService(CardRepository cardRepository, AccountRepository accountRepository, CardTypeRepository cardTypeRepository, CardMapping mappingService, CardValidation validationService) {
+    public CardService(CardRepository cardRepository, AccountRepository accountRepository, CardTypeRepository cardTypeRepository, CardMapping mappingService, CardValidation validationService, ReferenceDataCache referenceDataCache, JsonArrayStreamer jsonArrayStreamer) {
         this.cardRepository = cardRepository;
         this.accountRepository = accountRepository;
         this.cardTypeRepository = cardTypeRepository;
         this.mappingService = mappingService;
         this.validationService = validationService;
+        this.referenceDataCache = referenceDataCache;
+        this.jsonArrayStreamer = jsonArrayStreamer;
     }
     public List<CardDto> getAllCards() {
-        return cardRepository.findAll().stream().map(mappingService::mapToCardDto).collect(Collectors.toList());
+        return cardRepository.findAllDtos();
+    }
+
+    public void streamAllCards(OutputStream outputStream) throws IOException {
+        jsonArrayStreamer.write(outputStream, CardDto.class, cardRepository::findDtoChunkAfter, CardDto::getId, cards -> cards);
     }
 
     public CardDto getCardById(UUID id) throws Exception {
-        CardEntity card = cardRepository.findById(id)
+        return cardRepository.findDtoById(id)
                 .orElseThrow(() -> new Exception("Card not found"));
-        return mappingService.mapToCardDto(card);
     }
 
+    @Transactional
     public CardDto createCard(CardDto cardDto) {
         AccountEntity account = accountRepository.findById(cardDto.getAccountId())
                 .orElseThrow(() -> new EntityNotFoundException("Account not found with ID: " + cardDto.getAccountId()));
-        CardTypeEntity cardType = cardTypeRepository.findById(cardDto.getCardTypeId())
-                .orElseThrow(() -> new EntityNotFoundException("CardType not found with ID: " + cardDto.getCardTypeId()));
+        CardTypeEntity cardType = cardTypeReference(cardDto.getCardTypeId());
         validationService.validateCardDto(cardDto);
         CardEntity card = mappingService.mapToCardEntity(cardDto);
         card.setAccount(account);
@@ -54,11 +64,11 @@ public class CardService {
         return mappingService.mapToCardDto(savedCard);
     }
 
+    @Transactional
     public CardDto updateCardById(UUID id, CardDto cardDto) {
         CardEntity card = cardRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Card not found with ID: " + id));
-        CardTypeEntity cardType = cardTypeRepository.findById(cardDto.getCardTypeId())
-                .orElseThrow(() -> new EntityNotFoundException("CardType not found with ID: " + cardDto.getCardTypeId()));
+        CardTypeEntity cardType = cardTypeReference(cardDto.getCardTypeId());
         validationService.validateCardDto(cardDto);
         card.setCardCvv(cardDto.getCardCvv());
         card.setCardNumber(cardDto.getCardNumber());
@@ -67,6 +77,13 @@ public class CardService {
         return mappingService.mapToCardDto(updatedCard);
     }
 
+    private CardTypeEntity cardTypeReference(Integer cardTypeId) {
+        if (!referenceDataCache.hasCardType(cardTypeId)) {
+            throw new EntityNotFoundException("CardType not found with ID: " + cardTypeId);
+        }
+        return cardTypeRepository.getReferenceById(cardTypeId);
+    }
+
     @Transactional
     public void deleteCard(UUID cardId) {
         CardEntity card = cardRepository.findById(cardId)
@@ -1,24 +1,25 @@
 package io.bankingsystem.banking.service.services;
 
 import io.bankingsystem.banking.model.dto.CardTypeDto;
-import io.bankingsystem.banking.repository.CardTypeRepository;
-import io.bankingsystem.banking.service.mappings.CardTypeMapping;
+import io.bankingsystem.banking.service.reference.ReferenceDataCache;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 public class CardTypeService {
-    private final CardTypeRepository cardTypeRepository;
-    private final CardTypeMapping mappingService;
+    private final ReferenceDataCache referenceDataCache;
 
-    public CardTypeService(CardTypeRepository cardTypeRepository, CardTypeMapping mappingService) {
-        this.cardTypeRepository = cardTypeRepository;
-        this.mappingService = mappingService;
+    public CardTypeService(ReferenceDataCache referenceDataCache) {
+        this.referenceDataCache = referenceDataCache;
     }
 
     public List<CardTypeDto> getAllCardTypes() {
-        return cardTypeRepository.findAll().stream().map(mappingService::mapToCardTypeDto).collect(Collectors.toList());
+        return referenceDataCache.cardTypes().toDtos();
     }
-}
\ No newline at end of file
+
+    public List<CardTypeDto> reloadCardTypes() {
+        referenceDataCache.refresh();
+        return referenceDataCache.cardTypes().toDtos();
+    }
+}
@@ -2,93 +2,202 @@ package io.bankingsystem.banking.service.services;
 
 import io.bankingsystem.banking.model.dto.*;
 import io.bankingsystem.banking.model.entity.AccountEntity;
+import io.bankingsystem.banking.model.entity.CardEntity;
 import io.bankingsystem.banking.model.entity.CustomerEntity;
+import io.bankingsystem.banking.repository.AccountBalanceSnapshotRepository;
 import io.bankingsystem.banking.repository.AccountRepository;
 import io.bankingsystem.banking.repository.CardRepository;
 import io.bankingsystem.banking.repository.CustomerRepository;
+import io.bankingsystem.banking.repository.SparseFieldsetRepository;
 import io.bankingsystem.banking.repository.TransactionRepository;
+import io.bankingsystem.banking.service.auth.CredentialCache;
+import io.bankingsystem.banking.service.auth.PasswordHashingService;
+import io.bankingsystem.banking.service.ledger.LedgerEngine;
 import io.bankingsystem.banking.service.mappings.CustomerMapping;
+import io.bankingsystem.banking.service.routing.DataSourceRouting;
+import io.bankingsystem.banking.service.support.AccountBalanceCache;
+import io.bankingsystem.banking.service.support.AfterCommit;
+import io.bankingsystem.banking.service.support.BoundedCache;
+import io.bankingsystem.banking.service.support.BoundedCacheMetrics;
+import io.bankingsystem.banking.service.support.ETags;
+import io.bankingsystem.banking.service.support.FieldSet;
+import io.bankingsystem.banking.service.support.InClauseBatches;
+import io.bankingsystem.banking.service.support.JsonArrayStreamer;
 import io.bankingsystem.banking.service.validations.CustomerValidation;
 import jakarta.persistence.EntityNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.transaction.Transactional;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 @Service
 public class CustomerService {
+    private static final Map<String, String> SELECTABLE_FIELDS = Map.of(
+            "id", "id",
+            "customerFirstName", "customerFirstName",
+            "customerLastName", "customerLastName",
+            "customerDateOfBirth", "customerDateOfBirth",
+            "customerEmail", "customerEmail",
+            "customerPhoneNumber", "customerPhoneNumber",
+            "customerAddress", "customerAddress",
+            "customerRole", "customerRole");
+
 private final CustomerRepository customerRepository;
 private final AccountRepository accountRepository;
 private final CustomerMapping customerMapping;
 private final CustomerValidation validationService;
-private final PasswordEncoder passwordEncoder;
+private final PasswordHashingService passwordHashingService;
 private final CardRepository cardRepository;
 private final TransactionRepository transactionRepository;
+private final ObjectProvider<LedgerEngine> ledgerEngine;
+private final AccountBalanceSnapshotRepository snapshotRepository;
+private final BoundedCache<UUID, CustomerDto> profileCache;
+private final AtomicLong profileGeneration = new AtomicLong();
+private final AccountBalanceCache accountBalanceCache;
+private final TransactionTemplate readOnlyTransaction;
+private final TransactionTemplate writeTransaction;
+private final SparseFieldsetRepository sparseFieldsetRepository;
+private final JsonArrayStreamer jsonArrayStreamer;
+private final CredentialCache credentialCache;
 
-    public CustomerService(CustomerRepository customerRepository, AccountRepository accountRepository, CustomerMapping customerMapping, CustomerValidation validationService, PasswordEncoder passwordEncoder, CardRepository cardRepository, TransactionRepository transactionRepository) {
+    public CustomerService(CustomerRepository customerRepository, AccountRepository accountRepository, CustomerMapping customerMapping, CustomerValidation validationService, PasswordHashingService passwordHashingService, CardRepository cardRepository, TransactionRepository transactionRepository, ObjectProvider<LedgerEngine> ledgerEngine, AccountBalanceSnapshotRepository snapshotRepository,
+                           AccountBalanceCache accountBalanceCache, MeterRegistry meterRegistry, PlatformTransactionManager transactionManager, SparseFieldsetRepository sparseFieldsetRepository, JsonArrayStreamer jsonArrayStreamer, CredentialCache credentialCache,
+                           @Value("${banking.customers.profile-cache-size:10000}") int profileCacheSize,
+                           @Value("${banking.customers.profile-cache-ttl-seconds:60}") long profileCacheTtlSeconds) {
         this.customerRepository = customerRepository;
         this.accountRepository = accountRepository;
         this.customerMapping = customerMapping;
         this.validationService = validationService;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingService = passwordHashingService;
         this.cardRepository = cardRepository;
         this.transactionRepository = transactionRepository;
+        this.ledgerEngine = ledgerEngine;
+        this.snapshotRepository = snapshotRepository;
+        this.accountBalanceCache = accountBalanceCache;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.sparseFieldsetRepository = sparseFieldsetRepository;
+        this.jsonArrayStreamer = jsonArrayStreamer;
+        this.credentialCache = credentialCache;
+        this.profileCache = new BoundedCache<>(profileCacheSize, Duration.ofSeconds(profileCacheTtlSeconds));
+        new BoundedCacheMetrics(profileCache, "customer-profiles").bindTo(meterRegistry);
     }
     
     public List<CustomerDto> getAllCustomers() {
-        return customerRepository.findAll().stream().map(customerMapping::mapToCustomerDto).collect(Collectors.toList());
+        return customerRepository.findAllDtos();
+    }
+
+    public SparseRowsDto getAllCustomers(String fields) {
+        FieldSet fieldSet = FieldSet.parse(fields, SELECTABLE_FIELDS);
+        return new SparseRowsDto(fieldSet.names(), sparseFieldsetRepository.findAll(CustomerEntity.class, fieldSet.paths()));
     }
 
     public List<CustomerDto> getCustomersYoungerThan24() {
         LocalDate twentyFourYearsAgo = LocalDate.now().minusYears(24);
-        List<CustomerEntity> customers = customerRepository.findByCustomerDateOfBirthAfter(twentyFourYearsAgo);
-        return customers.stream()
-                .map(customerMapping::mapToCustomerDto)
-                .collect(Collectors.toList());
+        return customerRepository.findDtosBornAfter(twentyFourYearsAgo);
     }
 
     public List<CustomerDto> getCustomersOlderThan64() {
         LocalDate sixtyFourYearsAgo = LocalDate.now().minusYears(64);
-        List<CustomerEntity> customers = customerRepository.findByCustomerDateOfBirthBefore(sixtyFourYearsAgo);
-        return customers.stream()
-                .map(customerMapping::mapToCustomerDto)
-                .collect(Collectors.toList());
+        return customerRepository.findDtosBornBefore(sixtyFourYearsAgo);
     }
 
     public CustomerDto getCustomerById(UUID id) {
-        CustomerEntity customer = customerRepository.findById(id)
+        CustomerDto cached = profileCache.get(id);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = profileGeneration.get();
+        CustomerDto customer = DataSourceRouting.onPrimary(() -> customerRepository.findDtoById(id))
                 .orElseThrow(() -> new EntityNotFoundException("Customer not found"));
-        return customerMapping.mapToCustomerDto(customer);
+        synchronized (profileGeneration) {
+            if (profileGeneration.get() == generation) {
+                profileCache.put(id, customer);
+            }
+        }
+        return customer;
+    }
+
+    public String getCustomersETag(String fields) {
+        String resource = fields == null ? "customers" : "customers?fields=" + FieldSet.parse(fields, SELECTABLE_FIELDS).key();
+        return ETags.of(resource, customerRepository.findAllVersions());
+    }
+
+    public String getCustomerETag(CustomerDto customer) {
+        return ETags.of("customer", List.of(new EntityVersionDto(customer.getId(), customer.getVersion())));
+    }
+
+    public String getCustomersWithAccountsETag() {
+        return readOnlyTransaction.execute(status ->
+                ETags.of("customers-accounts", customerRepository.findAllVersions(), accountRepository.findAllVersions()));
+    }
+
+    public String getCustomerWithAccountsETag(UUID customerId) {
+        return readOnlyTransaction.execute(status -> customerRepository.findVersionById(customerId)
+                .map(customer -> ETags.of("customer-accounts", List.of(customer), accountRepository.findVersionsByCustomerId(customerId)))
+                .orElse(null));
+    }
+
+    public String getCustomersAccountsCardsETag() {
+        return readOnlyTransaction.execute(status -> ETags.of("customers-accounts-cards", customerRepository.findAllVersions(),
+                accountRepository.findAllVersions(), cardRepository.findAllVersions()));
+    }
+
+    public String getCustomerAccountsCardsETag(UUID customerId) {
+        return readOnlyTransaction.execute(status -> customerRepository.findVersionById(customerId)
+                .map(customer -> ETags.of("customer-accounts-cards", List.of(customer),
+                        accountRepository.findVersionsByCustomerId(customerId), cardRepository.findVersionsByCustomerId(customerId)))
+                .orElse(null));
     }
 
     public List<CustomerAccountsDto> getCustomersWithAccounts() {
-        List<CustomerEntity> customers = customerRepository.findAll();
-        return customers.stream()
-                .map(customer -> customerMapping.mapToCustomerAccountsDto(customer, accountRepository))
-                .collect(Collectors.toList());
+        return readOnlyTransaction.execute(status -> {
+            List<CustomerEntity> customers = customerRepository.findAll();
+            Map<UUID, List<AccountEntity>> accountsByCustomer = accountsByCustomer(customers);
+            return customers.stream()
+                    .map(customer -> customerMapping.mapToCustomerAccountsDto(customer, accountsByCustomer.getOrDefault(customer.getId(), List.of())))
+                    .collect(Collectors.toList());
+        });
     }
 
     public CustomerAccountsDto getCustomerWithAccountsById(UUID customerId) {
-        CustomerEntity customer = customerRepository.findById(customerId)
-                .orElseThrow(() -> new EntityNotFoundException("Customer not found with id: " + customerId));
-        return customerMapping.mapToCustomerAccountsDto(customer, accountRepository);
+        return readOnlyTransaction.execute(status -> {
+            CustomerEntity customer = customerRepository.findById(customerId)
+                    .orElseThrow(() -> new EntityNotFoundException("Customer not found with id: " + customerId));
+            return customerMapping.mapToCustomerAccountsDto(customer, accountRepository.findByCustomerId(customerId));
+        });
     }
 
     public List<CustomerAccountsCardsDto> getCustomersAccountsCards() {
-        List<CustomerEntity> customers = customerRepository.findAll();
-        return customers.stream()
-                .map(customer -> customerMapping.mapToCustomerAccountsCardsDto(customer, accountRepository, cardRepository))
-                .toList();
+        return readOnlyTransaction.execute(status -> mapToCustomerAccountsCardsDtos(customerRepository.findAll()));
+    }
+
+    public void streamCustomersAccountsCards(OutputStream outputStream) throws IOException {
+        jsonArrayStreamer.write(outputStream, CustomerAccountsCardsDto.class, customerRepository::findChunkAfter,
+                CustomerEntity::getId, this::mapToCustomerAccountsCardsDtos);
     }
 
     public CustomerAccountsCardsDto getCustomerAccountsCardsById(UUID customerId) {
-        CustomerEntity customer = customerRepository.findById(customerId)
-                .orElseThrow(() -> new EntityNotFoundException("Customer not found"));
-        return customerMapping.mapToCustomerAccountsCardsDto(customer, accountRepository, cardRepository);
+        return readOnlyTransaction.execute(status -> {
+            CustomerEntity customer = customerRepository.findById(customerId)
+                    .orElseThrow(() -> new EntityNotFoundException("Customer not found"));
+            List<AccountEntity> accounts = accountRepository.findByCustomerId(customerId);
+            return customerMapping.mapToCustomerAccountsCardsDto(customer, accounts, cardsByAccount(accounts));
+        });
     }
 
     public CustomerDto createCustomer(CustomerDto customerDto) {
@@ -98,16 +207,27 @@ private final TransactionRepository transactionRepository;
         return customerMapping.mapToCustomerDto(savedCustomer);
     }
 
+    // As with updateCustomerPassword, a new password is hashed before the transaction starts. If the password
+    // changes in the meantime, a request that did not change it keeps the newer one.
     public CustomerDto updateCustomerById(UUID id, CustomerDto customerDto) {
-        CustomerEntity customer = customerRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("Customer not found with ID: " + id));
+        String currentPasswordHash = DataSourceRouting.onPrimary(() -> customerRepository.findById(id))
+                .orElseThrow(() -> new EntityNotFoundException("Customer not found with ID: " + id))
+                .getCustomerPassword();
+        validationService.validateCustomerUpdateDto(customerDto, currentPasswordHash);
+        String newPasswordHash = PasswordHashingService.isUnchanged(customerDto.getCustomerPassword(), currentPasswordHash)
+                ? null : passwordHashingService.hash(customerDto.getCustomerPassword());
 
-        validationService.validateCustomerDto(customerDto);
+        return writeTransaction.execute(status -> {
+            CustomerEntity customer = customerRepository.findById(id)
+                    .orElseThrow(() -> new EntityNotFoundException("Customer not found with ID: " + id));
+            credentialCache.invalidate(customer.getCustomerEmail());
 
-        CustomerEntity updatedCustomer = customerMapping.updateCustomerEntityFromDto(customer, customerDto);
-        updatedCustomer = customerRepository.save(updatedCustomer);
+            CustomerEntity updatedCustomer = customerMapping.updateCustomerEntityFromDto(customer, customerDto, newPasswordHash);
+            updatedCustomer = customerRepository.save(updatedCustomer);
+            evictProfile(id);
 
-        return customerMapping.mapToCustomerDto(updatedCustomer);
+            return customerMapping.mapToCustomerDto(updatedCustomer);
+        });
     }
 
     @Transactional
@@ -117,6 +237,7 @@ private final TransactionRepository transactionRepository;
                 .orElseThrow(() -> new EntityNotFoundException("Customer not found"));
         customerEntity.setCustomerAddress(newAddress);
         CustomerEntity savedEntity = customerRepository.save(customerEntity);
+        evictProfile(id);
         return customerMapping.mapToCustomerDto(savedEntity);
     }
 
@@ -127,6 +248,7 @@ private final TransactionRepository transactionRepository;
                 .orElseThrow(() -> new EntityNotFoundException("Customer not found"));
         customerEntity.setCustomerPhoneNumber(newPhoneNumber);
         CustomerEntity savedEntity = customerRepository.save(customerEntity);
+        evictProfile(id);
         return  customerMapping.mapToCustomerDto(savedEntity);
     }
 
@@ -135,24 +257,31 @@ private final TransactionRepository transactionRepository;
         validationService.validateEmail(newEmail);
         CustomerEntity customerEntity = customerRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Customer not found"));
+        credentialCache.invalidate(customerEntity.getCustomerEmail());
         customerEntity.setCustomerEmail(newEmail);
         CustomerEntity savedEntity = customerRepository.save(customerEntity);
+        evictProfile(id);
         return  customerMapping.mapToCustomerDto(savedEntity);
     }
 
-    @Transactional
+    // The hash is computed before the transaction starts so the slow work does not hold a connection.
     public CustomerDto updateCustomerPassword(UUID id, String newPassword) {
         validationService.validatePassword(newPassword);
-        CustomerEntity customerEntity = customerRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("Customer not found"));
-        customerEntity.setCustomerPassword(passwordEncoder.encode(newPassword));
-        CustomerEntity savedEntity = customerRepository.save(customerEntity);
-        return
-               customerMapping.mapToCustomerDto(savedEntity);
+        String passwordHash = passwordHashingService.hash(newPassword);
+        return writeTransaction.execute(status -> {
+            CustomerEntity customerEntity = customerRepository.findById(id)
+                    .orElseThrow(() -> new EntityNotFoundException("Customer not found"));
+            credentialCache.invalidate(customerEntity.getCustomerEmail());
+            customerEntity.setCustomerPassword(passwordHash);
+            CustomerEntity savedEntity = customerRepository.save(customerEntity);
+            evictProfile(id);
+            return customerMapping.mapToCustomerDto(savedEntity);
+        });
     }
 
     @Transactional
     public void deleteCustomer(UUID id) {
+        ledgerEngine.ifAvailable(ledger -> accountRepository.findIdsByCustomerId(id).forEach(ledger::lockForUpdate));
         CustomerEntity customer = customerRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Customer not found"));
 
@@ -161,9 +290,44 @@ private final TransactionRepository transactionRepository;
         for(AccountEntity account : accounts) {
             cardRepository.deleteByAccountId(account.getId());
             transactionRepository.deleteByAccountId(account.getId());
+            snapshotRepository.deleteByAccountId(account.getId());
         }
         accountRepository.deleteByCustomerId(id);
         customerRepository.delete(customer);
+        credentialCache.invalidate(customer.getCustomerEmail());
+        accountBalanceCache.evictAfterCommit(accounts.stream().map(AccountEntity::getId).toList());
+        evictProfile(id);
+    }
+
+    // Evicts now and again after commit; a read that loaded the old row in between is not cached.
+    private void evictProfile(UUID id) {
+        invalidateProfile(id);
+        AfterCommit.run(() -> invalidateProfile(id));
+    }
+
+    private void invalidateProfile(UUID id) {
+        synchronized (profileGeneration) {
+            profileGeneration.incrementAndGet();
+            profileCache.invalidate(id);
+        }
+    }
+
+    private List<CustomerAccountsCardsDto> mapToCustomerAccountsCardsDtos(List<CustomerEntity> customers) {
+        Map<UUID, List<AccountEntity>> accountsByCustomer = accountsByCustomer(customers);
+        Map<UUID, List<CardEntity>> cardsByAccount = cardsByAccount(accountsByCustomer.values().stream().flatMap(List::stream).toList());
+        return customers.stream()
+                .map(customer -> customerMapping.mapToCustomerAccountsCardsDto(customer, accountsByCustomer.getOrDefault(customer.getId(), List.of()), cardsByAccount))
+                .toList();
+    }
+
+    private Map<UUID, List<AccountEntity>> accountsByCustomer(List<CustomerEntity> customers) {
+        return InClauseBatches.load(customers.stream().map(CustomerEntity::getId).toList(), accountRepository::findByCustomerIdIn).stream()
+                .collect(Collectors.groupingBy(account -> account.getCustomer().getId()));
+    }
+
+    private Map<UUID, List<CardEntity>> cardsByAccount(List<AccountEntity> accounts) {
+        return InClauseBatches.load(accounts.stream().map(AccountEntity::getId).toList(), cardRepository::findByAccountIdIn).stream()
+                .collect(Collectors.groupingBy(card -> card.getAccount().getId()));
     }
 }
 
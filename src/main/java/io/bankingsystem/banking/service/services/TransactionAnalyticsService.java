@@ -0,0 +1,197 @@
+package io.bankingsystem.banking.service.services;
+
+import io.bankingsystem.banking.model.dto.AmountDistributionDto;
+import io.bankingsystem.banking.model.dto.AnalyticsBucketDto;
+import io.bankingsystem.banking.model.dto.TransactionAnalyticsDto;
+import io.bankingsystem.banking.model.enum_fields.AnalyticsWindow;
+import io.bankingsystem.banking.repository.TransactionAnalyticsRepository;
+import io.bankingsystem.banking.service.support.AmountHistogram;
+import io.bankingsystem.banking.service.support.BoundedCache;
+import io.bankingsystem.banking.service.support.MoneyUnits;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+@Service
+public class TransactionAnalyticsService {
+    private static final int CHUNK_SIZE = 65_536;
+    private static final int SPLIT_THRESHOLD = 8_192;
+
+    private final TransactionAnalyticsRepository analyticsRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final BoundedCache<AnalyticsWindow, TransactionAnalyticsDto> windowCache;
+    private final Map<AnalyticsWindow, Object> windowLocks = new EnumMap<>(AnalyticsWindow.class);
+    private final int maxChunksInFlight = ForkJoinPool.commonPool().getParallelism() * 2;
+
+    public TransactionAnalyticsService(TransactionAnalyticsRepository analyticsRepository, PlatformTransactionManager transactionManager,
+                                       @Value("${banking.analytics.cache-ttl-seconds:5}") long cacheTtlSeconds) {
+        this.analyticsRepository = analyticsRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.windowCache = new BoundedCache<>(AnalyticsWindow.values().length, Duration.ofSeconds(cacheTtlSeconds));
+        for (AnalyticsWindow window : AnalyticsWindow.values()) {
+            windowLocks.put(window, new Object());
+        }
+    }
+
+    public TransactionAnalyticsDto getAnalytics(String window) {
+        AnalyticsWindow analyticsWindow;
+        try {
+            analyticsWindow = AnalyticsWindow.valueOf(window.toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported analytics window: " + window);
+        }
+        return getAnalytics(analyticsWindow);
+    }
+
+    public TransactionAnalyticsDto getAnalytics(AnalyticsWindow window) {
+        TransactionAnalyticsDto cached = windowCache.get(window);
+        if (cached != null) {
+            return cached;
+        }
+        synchronized (windowLocks.get(window)) {
+            cached = windowCache.get(window);
+            if (cached != null) {
+                return cached;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            TransactionAnalyticsDto analytics = compute(windowStart(window, now), now);
+            windowCache.put(window, analytics);
+            return analytics;
+        }
+    }
+
+    public TransactionAnalyticsDto getAnalytics(LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Either a window or both from and to are required");
+        }
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("from must be before to");
+        }
+        return compute(from, to);
+    }
+
+    private TransactionAnalyticsDto compute(LocalDateTime from, LocalDateTime to) {
+        return readOnlyTransaction.execute(status -> {
+            List<AnalyticsBucketDto> byType = analyticsRepository.totalsByType(from, to);
+            List<AnalyticsBucketDto> byDay = analyticsRepository.totalsByDay(from, to);
+            List<AnalyticsBucketDto> byAccountType = analyticsRepository.totalsByAccountType(from, to);
+
+            long totalCount = 0;
+            BigDecimal totalAmount = BigDecimal.ZERO;
+            for (AnalyticsBucketDto bucket : byType) {
+                totalCount += bucket.getCount();
+                totalAmount = totalAmount.add(bucket.getTotalAmount());
+            }
+            AmountDistributionDto distribution = totalCount == 0 ? null : toDistribution(amountHistogram(from, to));
+            return new TransactionAnalyticsDto(from, to, totalCount, totalAmount, byType, byDay, byAccountType,
+                    distribution, LocalDateTime.now());
+        });
+    }
+
+    private AmountHistogram amountHistogram(LocalDateTime from, LocalDateTime to) {
+        HistogramCollector collector = new HistogramCollector();
+        analyticsRepository.forEachAmount(from, to, collector::add);
+        return collector.finish();
+    }
+
+    private AmountDistributionDto toDistribution(AmountHistogram histogram) {
+        return new AmountDistributionDto(
+                MoneyUnits.fromMinorUnits(histogram.min()),
+                MoneyUnits.fromMinorUnits(histogram.percentile(0.5)),
+                MoneyUnits.fromMinorUnits(histogram.percentile(0.9)),
+                MoneyUnits.fromMinorUnits(histogram.percentile(0.99)),
+                MoneyUnits.fromMinorUnits(histogram.max())
+        );
+    }
+
+    private LocalDateTime windowStart(AnalyticsWindow window, LocalDateTime now) {
+        LocalDate today = now.toLocalDate();
+        switch (window) {
+            case TODAY:
+                return today.atStartOfDay();
+            case LAST_7_DAYS:
+                return now.minusDays(7);
+            case MONTH_TO_DATE:
+                return today.withDayOfMonth(1).atStartOfDay();
+            default:
+                throw new IllegalArgumentException("Unsupported analytics window: " + window);
+        }
+    }
+
+    private final class HistogramCollector {
+        private final AmountHistogram histogram = new AmountHistogram();
+        private final Deque<ForkJoinTask<AmountHistogram>> inFlight = new ArrayDeque<>();
+        private long[] chunk = new long[CHUNK_SIZE];
+        private int filled;
+
+        private void add(BigDecimal amount) {
+            chunk[filled++] = MoneyUnits.toMinorUnits(amount);
+            if (filled == CHUNK_SIZE) {
+                submitChunk();
+                if (inFlight.size() >= maxChunksInFlight) {
+                    histogram.merge(inFlight.poll().join());
+                }
+                chunk = new long[CHUNK_SIZE];
+                filled = 0;
+            }
+        }
+
+        private AmountHistogram finish() {
+            if (filled > 0) {
+                submitChunk();
+            }
+            while (!inFlight.isEmpty()) {
+                histogram.merge(inFlight.poll().join());
+            }
+            return histogram;
+        }
+
+        private void submitChunk() {
+            inFlight.add(ForkJoinPool.commonPool().submit(new HistogramTask(chunk, 0, filled)));
+        }
+    }
+
+    private static final class HistogramTask extends RecursiveTask<AmountHistogram> {
+        private final long[] values;
+        private final int from;
+        private final int to;
+
+        private HistogramTask(long[] values, int from, int to) {
+            this.values = values;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected AmountHistogram compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                AmountHistogram histogram = new AmountHistogram();
+                for (int i = from; i < to; i++) {
+                    histogram.record(values[i]);
+                }
+                return histogram;
+            }
+            int middle = (from + to) >>> 1;
+            HistogramTask left = new HistogramTask(values, from, middle);
+            left.fork();
+            AmountHistogram right = new HistogramTask(values, middle, to).compute();
+            return left.join().merge(right);
+        }
+    }
+}
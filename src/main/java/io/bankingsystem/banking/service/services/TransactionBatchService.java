@@ -0,0 +1,207 @@
+package io.bankingsystem.banking.service.services;
+
+import io.bankingsystem.banking.model.dto.AccountDto;
+import io.bankingsystem.banking.model.dto.TransactionBatchResultDto;
+import io.bankingsystem.banking.model.dto.TransactionDto;
+import io.bankingsystem.banking.model.entity.AccountEntity;
+import io.bankingsystem.banking.model.entity.TransactionEntity;
+import io.bankingsystem.banking.model.enum_fields.AccountStatus;
+import io.bankingsystem.banking.model.enum_fields.TransactionBatchStatus;
+import io.bankingsystem.banking.model.enum_fields.TransactionType;
+import io.bankingsystem.banking.repository.AccountRepository;
+import io.bankingsystem.banking.repository.TransactionBatchRepository;
+import io.bankingsystem.banking.service.ledger.LedgerEngine;
+import io.bankingsystem.banking.service.mappings.AccountMapping;
+import io.bankingsystem.banking.service.mappings.TransactionMapping;
+import io.bankingsystem.banking.service.support.AccountBalanceCache;
+import io.bankingsystem.banking.service.support.LockRetryExecutor;
+import io.bankingsystem.banking.service.validations.TransactionValidation;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+@Service
+public class TransactionBatchService {
+    private static final int MAX_BATCH_SIZE = 10_000;
+
+    private final AccountRepository accountRepository;
+    private final TransactionBatchRepository transactionBatchRepository;
+    private final TransactionMapping mappingService;
+    private final TransactionValidation validationService;
+    private final TransactionTemplate transactionTemplate;
+    private final AccountMapping accountMapping;
+    private final AccountBalanceCache accountBalanceCache;
+    private final LockRetryExecutor lockRetryExecutor;
+    private final ObjectProvider<LedgerEngine> ledgerEngine;
+
+    public TransactionBatchService(AccountRepository accountRepository, TransactionBatchRepository transactionBatchRepository, TransactionMapping mappingService, TransactionValidation validationService, TransactionTemplate transactionTemplate, LockRetryExecutor lockRetryExecutor, ObjectProvider<LedgerEngine> ledgerEngine,
+                                   AccountMapping accountMapping, AccountBalanceCache accountBalanceCache) {
+        this.accountRepository = accountRepository;
+        this.transactionBatchRepository = transactionBatchRepository;
+        this.mappingService = mappingService;
+        this.validationService = validationService;
+        this.transactionTemplate = transactionTemplate;
+        this.accountMapping = accountMapping;
+        this.accountBalanceCache = accountBalanceCache;
+        this.lockRetryExecutor = lockRetryExecutor;
+        this.ledgerEngine = ledgerEngine;
+    }
+
+    public List<TransactionBatchResultDto> createTransactions(List<TransactionDto> transactionDtos) {
+        if (transactionDtos == null || transactionDtos.isEmpty()) {
+            throw new IllegalArgumentException("Transaction batch must not be empty");
+        }
+        if (transactionDtos.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Transaction batch exceeds " + MAX_BATCH_SIZE + " items");
+        }
+        LedgerEngine ledger = ledgerEngine.getIfAvailable();
+        if (ledger != null) {
+            return postToLedger(ledger, transactionDtos);
+        }
+        return lockRetryExecutor.execute(() -> transactionTemplate.execute(status -> postTransactions(transactionDtos)));
+    }
+
+    private List<TransactionBatchResultDto> postToLedger(LedgerEngine ledger, List<TransactionDto> transactionDtos) {
+        List<CompletableFuture<TransactionDto>> postings = new ArrayList<>(transactionDtos.size());
+        for (TransactionDto transactionDto : transactionDtos) {
+            try {
+                postings.add(ledger.post(transactionDto));
+            } catch (RuntimeException e) {
+                postings.add(CompletableFuture.failedFuture(e));
+            }
+        }
+
+        List<TransactionBatchResultDto> results = new ArrayList<>(postings.size());
+        for (int i = 0; i < postings.size(); i++) {
+            try {
+                results.add(new TransactionBatchResultDto(i, TransactionBatchStatus.CREATED, postings.get(i).join(), null));
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                results.add(new TransactionBatchResultDto(i, TransactionBatchStatus.REJECTED, null, cause.getMessage()));
+            }
+        }
+        return results;
+    }
+
+    private List<TransactionBatchResultDto> postTransactions(List<TransactionDto> transactionDtos) {
+        Map<UUID, AccountEntity> accounts = new HashMap<>();
+        for (AccountEntity account : accountRepository.findAllByIdForUpdate(collectAccountIds(transactionDtos))) {
+            accounts.put(account.getId(), account);
+        }
+
+        Map<UUID, BigDecimal> balances = new LinkedHashMap<>();
+        List<TransactionEntity> transactions = new ArrayList<>();
+        List<TransactionBatchResultDto> results = new ArrayList<>(transactionDtos.size());
+        LocalDateTime transactionDate = LocalDateTime.now();
+
+        for (int i = 0; i < transactionDtos.size(); i++) {
+            TransactionDto transactionDto = transactionDtos.get(i);
+            try {
+                TransactionEntity transaction = applyTransaction(transactionDto, accounts, balances);
+                transaction.setTransactionDate(transactionDate);
+                transactions.add(transaction);
+                results.add(new TransactionBatchResultDto(i, TransactionBatchStatus.CREATED, mappingService.mapToTransactionDto(transaction), null));
+            } catch (EntityNotFoundException | IllegalArgumentException | IllegalStateException e) {
+                results.add(new TransactionBatchResultDto(i, TransactionBatchStatus.REJECTED, null, e.getMessage()));
+            }
+        }
+
+        transactionBatchRepository.insertTransactions(transactions);
+        transactionBatchRepository.updateAccountBalances(balances);
+        List<AccountDto> updatedAccounts = balances.entrySet().stream().map(balance -> {
+            AccountEntity entity = accounts.get(balance.getKey());
+            AccountDto account = accountMapping.mapToAccountDto(entity);
+            account.setAccountCurrentBalance(balance.getValue());
+            account.setVersion(entity.getVersion() + 1);
+            return account;
+        }).toList();
+        accountBalanceCache.updateAfterCommit(balances.keySet(), () -> updatedAccounts);
+        return results;
+    }
+
+    private TransactionEntity applyTransaction(TransactionDto transactionDto, Map<UUID, AccountEntity> accounts, Map<UUID, BigDecimal> balances) {
+        validationService.validateTransactionFields(transactionDto);
+
+        AccountEntity sourceAccount = accounts.get(transactionDto.getAccountId());
+        if (sourceAccount == null) {
+            throw new EntityNotFoundException("Account not found with ID: " + transactionDto.getAccountId());
+        }
+        if (sourceAccount.getAccountStatus() == AccountStatus.CLOSED) {
+            throw new IllegalStateException("Cannot create transaction for closed account");
+        }
+
+        BigDecimal amount = transactionDto.getTransactionAmount();
+        BigDecimal sourceBalance = currentBalance(sourceAccount, balances);
+
+        switch (transactionDto.getTransactionType()) {
+            case DEPOSIT:
+                balances.put(sourceAccount.getId(), sourceBalance.add(amount));
+                break;
+
+            case WITHDRAWAL:
+                if (sourceBalance.compareTo(amount) < 0) {
+                    throw new IllegalStateException("Insufficient funds for withdrawal");
+                }
+                balances.put(sourceAccount.getId(), sourceBalance.subtract(amount));
+                break;
+
+            case TRANSFER:
+                if (sourceBalance.compareTo(amount) < 0) {
+                    throw new IllegalStateException("Insufficient funds for transfer");
+                }
+
+                AccountEntity destinationAccount = accounts.get(
+                        validationService.parseTransferDestination(transactionDto.getTransactionDestination()));
+                if (destinationAccount == null) {
+                    throw new EntityNotFoundException("Destination account not found");
+                }
+                if (destinationAccount.getAccountStatus() == AccountStatus.CLOSED) {
+                    throw new IllegalStateException("Cannot transfer to closed account");
+                }
+
+                balances.put(sourceAccount.getId(), sourceBalance.subtract(amount));
+                balances.put(destinationAccount.getId(), currentBalance(destinationAccount, balances).add(amount));
+                break;
+        }
+
+        TransactionEntity transaction = mappingService.mapToTransactionEntity(transactionDto);
+        transaction.setId(UUID.randomUUID());
+        transaction.setAccount(sourceAccount);
+        return transaction;
+    }
+
+    private BigDecimal currentBalance(AccountEntity account, Map<UUID, BigDecimal> balances) {
+        return balances.getOrDefault(account.getId(), account.getAccountCurrentBalance());
+    }
+
+    private Set<UUID> collectAccountIds(List<TransactionDto> transactionDtos) {
+        Set<UUID> accountIds = new HashSet<>();
+        for (TransactionDto transactionDto : transactionDtos) {
+            if (transactionDto.getAccountId() != null) {
+                accountIds.add(transactionDto.getAccountId());
+            }
+            if (transactionDto.getTransactionType() == TransactionType.TRANSFER) {
+                try {
+                    accountIds.add(UUID.fromString(transactionDto.getTransactionDestination()));
+                } catch (IllegalArgumentException | NullPointerException ignored) {
+                    // rejected per item by validation
+                }
+            }
+        }
+        return accountIds;
+    }
+}
@@ -0,0 +1,123 @@
+package io.bankingsystem.banking.service.services;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.bankingsystem.banking.model.dto.TransactionDto;
+import io.bankingsystem.banking.model.dto.TransactionFilterDto;
+import io.bankingsystem.banking.model.entity.TransactionEntity;
+import io.bankingsystem.banking.model.enum_fields.ExportFormat;
+import io.bankingsystem.banking.repository.TransactionExportRepository;
+import io.bankingsystem.banking.repository.TransactionSpecifications;
+import io.bankingsystem.banking.service.mappings.TransactionMapping;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+@Service
+public class TransactionExportService {
+    private static final String CSV_HEADER = "id,transaction_type,transaction_amount,transaction_date,transaction_description,transaction_destination,account_id";
+
+    private final TransactionExportRepository transactionExportRepository;
+    private final TransactionMapping mappingService;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter jsonWriter;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public TransactionExportService(TransactionExportRepository transactionExportRepository, TransactionMapping mappingService, ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        this.transactionExportRepository = transactionExportRepository;
+        this.mappingService = mappingService;
+        this.objectMapper = objectMapper;
+        this.jsonWriter = objectMapper.writerFor(TransactionDto.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public void export(TransactionFilterDto filter, ExportFormat format, boolean gzip, OutputStream outputStream) throws IOException {
+        OutputStream target = gzip ? new GZIPOutputStream(outputStream, 64 * 1024) : outputStream;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), 64 * 1024);
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try {
+                    if (format == ExportFormat.CSV) {
+                        writeCsv(filter, writer);
+                    } else {
+                        writeNdjson(filter, writer);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+        if (gzip) {
+            ((GZIPOutputStream) target).finish();
+        }
+    }
+
+    private void writeNdjson(TransactionFilterDto filter, Writer writer) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(writer);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+        transactionExportRepository.forEach(TransactionSpecifications.matching(filter), transaction -> {
+            try {
+                jsonWriter.writeValue(generator, mappingService.mapToTransactionDto(transaction));
+                generator.writeRaw('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        generator.flush();
+    }
+
+    private void writeCsv(TransactionFilterDto filter, Writer writer) throws IOException {
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        transactionExportRepository.forEach(TransactionSpecifications.matching(filter), transaction -> {
+            try {
+                writeCsvRow(transaction, writer);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private void writeCsvRow(TransactionEntity transaction, Writer writer) throws IOException {
+        writer.write(String.valueOf(transaction.getId()));
+        writer.write(',');
+        writer.write(transaction.getTransactionType().name());
+        writer.write(',');
+        writer.write(transaction.getTransactionAmount().toPlainString());
+        writer.write(',');
+        writer.write(transaction.getTransactionDate().toString());
+        writer.write(',');
+        writer.write(csvField(transaction.getTransactionDescription()));
+        writer.write(',');
+        writer.write(csvField(transaction.getTransactionDestination()));
+        writer.write(',');
+        writer.write(String.valueOf(transaction.getAccount().getId()));
+        writer.write('\n');
+    }
+
+    private String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
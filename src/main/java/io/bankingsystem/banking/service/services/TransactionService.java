@@ -1,50 +1,242 @@
 package io.bankingsystem.banking.service.services;
 
 import io.bankingsystem.banking.model.dto.TransactionDto;
+import io.bankingsystem.banking.model.dto.TransactionFilterDto;
+import io.bankingsystem.banking.model.dto.TransactionPageDto;
 import io.bankingsystem.banking.model.entity.AccountEntity;
+import io.bankingsystem.banking.model.entity.IdempotencyKeyEntity;
 import io.bankingsystem.banking.model.entity.TransactionEntity;
 import io.bankingsystem.banking.model.enum_fields.AccountStatus;
+import io.bankingsystem.banking.model.enum_fields.TransactionType;
 import io.bankingsystem.banking.repository.AccountRepository;
+import io.bankingsystem.banking.repository.IdempotencyKeyRepository;
+import io.bankingsystem.banking.repository.TransactionReadRepository;
 import io.bankingsystem.banking.repository.TransactionRepository;
+import io.bankingsystem.banking.repository.TransactionSpecifications;
+import io.bankingsystem.banking.service.ledger.LedgerEngine;
+import io.bankingsystem.banking.service.mappings.AccountMapping;
 import io.bankingsystem.banking.service.mappings.TransactionMapping;
+import io.bankingsystem.banking.service.routing.DataSourceRouting;
+import io.bankingsystem.banking.service.support.AccountBalanceCache;
+import io.bankingsystem.banking.service.support.BoundedCache;
+import io.bankingsystem.banking.service.support.LockRetryExecutor;
+import io.bankingsystem.banking.service.support.TransactionCursor;
 import io.bankingsystem.banking.service.validations.TransactionValidation;
 import jakarta.persistence.EntityNotFoundException;
-import jakarta.transaction.Transactional;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class TransactionService {
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+    private static final int MAX_PAGE_SIZE = 500;
+
     private final TransactionRepository transactionRepository;
+    private final TransactionReadRepository transactionReadRepository;
     private final AccountRepository accountRepository;
     private final TransactionMapping mappingService;
     private final TransactionValidation validationService;
+    private final TransactionTemplate transactionTemplate;
+    private final LockRetryExecutor lockRetryExecutor;
+    private final ObjectProvider<LedgerEngine> ledgerEngine;
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final AccountMapping accountMapping;
+    private final AccountBalanceCache accountBalanceCache;
+    private final BoundedCache<String, IdempotentResult> idempotentResults;
+    private final Map<String, CompletableFuture<IdempotentResult>> inFlightKeys = new ConcurrentHashMap<>();
 
-    public TransactionService(TransactionRepository transactionRepository, AccountRepository accountRepository, TransactionMapping mappingService, TransactionValidation validationService) {
+    public TransactionService(TransactionRepository transactionRepository, TransactionReadRepository transactionReadRepository, AccountRepository accountRepository, TransactionMapping mappingService, TransactionValidation validationService, TransactionTemplate transactionTemplate, LockRetryExecutor lockRetryExecutor, ObjectProvider<LedgerEngine> ledgerEngine,
+                              IdempotencyKeyRepository idempotencyKeyRepository, AccountMapping accountMapping, AccountBalanceCache accountBalanceCache,
+                              @Value("${banking.idempotency.cache-size:10000}") int idempotencyCacheSize,
+                              @Value("${banking.idempotency.ttl-minutes:1440}") long idempotencyTtlMinutes) {
         this.transactionRepository = transactionRepository;
+        this.transactionReadRepository = transactionReadRepository;
         this.accountRepository = accountRepository;
         this.mappingService = mappingService;
         this.validationService = validationService;
+        this.transactionTemplate = transactionTemplate;
+        this.lockRetryExecutor = lockRetryExecutor;
+        this.ledgerEngine = ledgerEngine;
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.accountMapping = accountMapping;
+        this.accountBalanceCache = accountBalanceCache;
+        this.idempotentResults = new BoundedCache<>(idempotencyCacheSize, Duration.ofMinutes(idempotencyTtlMinutes));
     }
 
-    public List<TransactionDto> getAllTransactions() {
-        return transactionRepository.findAll().stream().map(mappingService::mapToTransactionDto).collect(Collectors.toList());
+    public TransactionPageDto getTransactions(TransactionFilterDto filter, String cursor, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (filter.getMinAmount() != null && filter.getMaxAmount() != null && filter.getMinAmount().compareTo(filter.getMaxAmount()) > 0) {
+            throw new IllegalArgumentException("minAmount must not be greater than maxAmount");
+        }
+        Specification<TransactionEntity> specification = TransactionSpecifications.matching(filter);
+        if (cursor != null && !cursor.isBlank()) {
+            specification = specification.and(TransactionSpecifications.after(TransactionCursor.decode(cursor)));
+        }
+
+        List<TransactionDto> rows = transactionReadRepository.findPage(specification, limit + 1);
+        boolean hasMore = rows.size() > limit;
+        List<TransactionDto> page = hasMore ? rows.subList(0, limit) : rows;
+
+        String nextCursor = null;
+        if (hasMore) {
+            TransactionDto last = page.get(page.size() - 1);
+            nextCursor = new TransactionCursor(last.getTransactionDate(), last.getId()).encode();
+        }
+        return new TransactionPageDto(page, nextCursor);
     }
 
     public TransactionDto getTransactionById(UUID id){
-        TransactionEntity transaction = transactionRepository.findById(id)
+        return transactionRepository.findDtoById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Transaction not found"));
-        return mappingService.mapToTransactionDto(transaction);
     }
 
-    @Transactional
     public TransactionDto createTransaction(TransactionDto transactionDto) {
-        AccountEntity sourceAccount = accountRepository.findById(transactionDto.getAccountId())
-                .orElseThrow(() -> new EntityNotFoundException("Account not found with ID: " + transactionDto.getAccountId()));
+        return executeTransaction(transactionDto, null);
+    }
+
+    public TransactionDto createTransaction(TransactionDto transactionDto, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return createTransaction(transactionDto);
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be between 1 and " + MAX_IDEMPOTENCY_KEY_LENGTH + " characters");
+        }
+        String fingerprint = fingerprint(transactionDto);
+
+        IdempotentResult stored = findIdempotentResult(idempotencyKey);
+        if (stored != null) {
+            return stored.resultFor(fingerprint);
+        }
+
+        CompletableFuture<IdempotentResult> claim = new CompletableFuture<>();
+        CompletableFuture<IdempotentResult> running = inFlightKeys.putIfAbsent(idempotencyKey, claim);
+        if (running != null) {
+            return awaitIdempotentResult(running).resultFor(fingerprint);
+        }
+
+        try {
+            IdempotentResult result = findIdempotentResult(idempotencyKey);
+            if (result == null) {
+                result = executeIdempotently(transactionDto, idempotencyKey, fingerprint);
+                idempotentResults.put(idempotencyKey, result);
+            }
+            claim.complete(result);
+            return result.resultFor(fingerprint);
+        } catch (RuntimeException e) {
+            claim.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightKeys.remove(idempotencyKey, claim);
+        }
+    }
+
+    private IdempotentResult executeIdempotently(TransactionDto transactionDto, String idempotencyKey, String fingerprint) {
+        IdempotencyKeyEntity key = new IdempotencyKeyEntity(idempotencyKey, fingerprint, null, LocalDateTime.now());
+        try {
+            return new IdempotentResult(fingerprint, executeTransaction(transactionDto, key));
+        } catch (DataIntegrityViolationException e) {
+            IdempotentResult stored = findIdempotentResult(idempotencyKey);
+            if (stored == null) {
+                throw e;
+            }
+            return stored;
+        }
+    }
+
+    private TransactionDto executeTransaction(TransactionDto transactionDto, IdempotencyKeyEntity idempotencyKey) {
+        LedgerEngine ledger = ledgerEngine.getIfAvailable();
+        if (ledger != null) {
+            return ledger.postAndWait(transactionDto, idempotencyKey);
+        }
+        return lockRetryExecutor.execute(() -> transactionTemplate.execute(status -> {
+            TransactionDto posted = postTransaction(transactionDto);
+            if (idempotencyKey != null) {
+                idempotencyKey.setTransactionId(posted.getId());
+                idempotencyKeyRepository.saveAndFlush(idempotencyKey);
+            }
+            return posted;
+        }));
+    }
+
+    private IdempotentResult findIdempotentResult(String idempotencyKey) {
+        IdempotentResult cached = idempotentResults.get(idempotencyKey);
+        if (cached != null) {
+            return cached;
+        }
+        IdempotentResult result = DataSourceRouting.onPrimary(() -> {
+            IdempotencyKeyEntity key = idempotencyKeyRepository.findById(idempotencyKey).orElse(null);
+            if (key == null) {
+                return null;
+            }
+            TransactionEntity transaction = transactionRepository.findById(key.getTransactionId())
+                    .orElseThrow(() -> new IllegalStateException("Transaction for this Idempotency-Key is still being processed"));
+            return new IdempotentResult(key.getRequestFingerprint(), mappingService.mapToTransactionDto(transaction));
+        });
+        if (result == null) {
+            return null;
+        }
+        idempotentResults.put(idempotencyKey, result);
+        return result;
+    }
+
+    private IdempotentResult awaitIdempotentResult(CompletableFuture<IdempotentResult> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private String fingerprint(TransactionDto transactionDto) {
+        String request = String.join("\n",
+                String.valueOf(transactionDto.getTransactionType()),
+                transactionDto.getTransactionAmount() == null ? "null" : transactionDto.getTransactionAmount().stripTrailingZeros().toPlainString(),
+                String.valueOf(transactionDto.getAccountId()),
+                String.valueOf(transactionDto.getTransactionDestination()),
+                String.valueOf(transactionDto.getTransactionDescription()));
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(request.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private TransactionDto postTransaction(TransactionDto transactionDto) {
+        if (transactionDto.getAccountId() == null) {
+            throw new IllegalArgumentException("Account ID must not be null");
+        }
+        Map<UUID, AccountEntity> lockedAccounts = lockAccounts(transactionDto);
+
+        AccountEntity sourceAccount = lockedAccounts.get(transactionDto.getAccountId());
+        if (sourceAccount == null) {
+            throw new EntityNotFoundException("Account not found with ID: " + transactionDto.getAccountId());
+        }
 
         if (sourceAccount.getAccountStatus() == AccountStatus.CLOSED) {
             throw new IllegalStateException("Cannot create transaction for closed account");
@@ -73,9 +265,10 @@ public class TransactionService {
                     throw new IllegalStateException("Insufficient funds for transfer");
                 }
 
-                AccountEntity destinationAccount = accountRepository.findById(
-                                UUID.fromString(transactionDto.getTransactionDestination()))
-                        .orElseThrow(() -> new EntityNotFoundException("Destination account not found"));
+                AccountEntity destinationAccount = lockedAccounts.get(UUID.fromString(transactionDto.getTransactionDestination()));
+                if (destinationAccount == null) {
+                    throw new EntityNotFoundException("Destination account not found");
+                }
 
                 if (destinationAccount.getAccountStatus() == AccountStatus.CLOSED) {
                     throw new IllegalStateException("Cannot transfer to closed account");
@@ -96,6 +289,39 @@ public class TransactionService {
         transaction.setAccount(sourceAccount);
         accountRepository.save(sourceAccount);
         TransactionEntity savedTransaction = transactionRepository.save(transaction);
+        accountBalanceCache.updateAfterCommit(lockedAccounts.keySet(),
+                () -> lockedAccounts.values().stream().map(accountMapping::mapToAccountDto).toList());
         return mappingService.mapToTransactionDto(savedTransaction);
     }
+
+    private Map<UUID, AccountEntity> lockAccounts(TransactionDto transactionDto) {
+        Set<UUID> accountIds = new HashSet<>();
+        accountIds.add(transactionDto.getAccountId());
+        if (transactionDto.getTransactionType() == TransactionType.TRANSFER) {
+            accountIds.add(validationService.parseTransferDestination(transactionDto.getTransactionDestination()));
+        }
+
+        Map<UUID, AccountEntity> lockedAccounts = new HashMap<>();
+        for (AccountEntity account : accountRepository.findAllByIdForUpdate(accountIds)) {
+            lockedAccounts.put(account.getId(), account);
+        }
+        return lockedAccounts;
+    }
+
+    private static final class IdempotentResult {
+        private final String fingerprint;
+        private final TransactionDto transaction;
+
+        private IdempotentResult(String fingerprint, TransactionDto transaction) {
+            this.fingerprint = fingerprint;
+            this.transaction = transaction;
+        }
+
+        private TransactionDto resultFor(String requestFingerprint) {
+            if (!fingerprint.equals(requestFingerprint)) {
+                throw new IllegalArgumentException("Idempotency-Key has already been used for a different request");
+            }
+            return transaction;
+        }
+    }
 }
@@ -0,0 +1,134 @@
+package io.bankingsystem.banking.service.support;
+
+import io.bankingsystem.banking.model.dto.AccountDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+@Component
+public class AccountBalanceCache {
+    private final int maxSize;
+    private final long ttlNanos;
+
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<UUID, Integer> pendingWrites = new ConcurrentHashMap<>();
+    private final AtomicLong versions = new AtomicLong();
+
+    public AccountBalanceCache(@Value("${banking.accounts.balance-cache-size:100000}") int maxSize,
+                               @Value("${banking.accounts.balance-cache-ttl-seconds:30}") long ttlSeconds) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Cache size must be at least 1");
+        }
+        if (ttlSeconds < 1) {
+            throw new IllegalArgumentException("Cache TTL must be positive");
+        }
+        this.maxSize = maxSize;
+        this.ttlNanos = Duration.ofSeconds(ttlSeconds).toNanos();
+    }
+
+    public CachedAccount get(UUID accountId) {
+        Entry entry = entries.get(accountId);
+        if (entry == null) {
+            return null;
+        }
+        if (System.nanoTime() - entry.loadedAt >= ttlNanos) {
+            entries.remove(accountId, entry);
+            return null;
+        }
+        return entry.cached;
+    }
+
+    public long beginRead() {
+        return versions.get();
+    }
+
+    // Values read from the database never replace an entry and are dropped while a write is in flight or
+    // once any write has started since beginRead(), since its eviction may already have run.
+    public CachedAccount populate(AccountDto account, long readVersion) {
+        CachedAccount cached = new CachedAccount(account, readVersion, Instant.now());
+        if (versions.get() != readVersion || pendingWrites.containsKey(account.getId())
+                || !hasRoomFor(account.getId())) {
+            return cached;
+        }
+        Entry entry = new Entry(cached, System.nanoTime());
+        if (entries.putIfAbsent(account.getId(), entry) == null && versions.get() != readVersion) {
+            entries.remove(account.getId(), entry);
+        }
+        return cached;
+    }
+
+    // Call while still holding the account row locks: the version taken here orders this write after any
+    // earlier committed one, however late its after-commit hook runs. The accounts are only mapped once the
+    // transaction has committed, so they carry their final entity versions.
+    public void updateAfterCommit(Collection<UUID> accountIds, Supplier<List<AccountDto>> accounts) {
+        long version = versions.incrementAndGet();
+        afterCommit(List.copyOf(accountIds), () -> accounts.get().forEach(account -> store(account, version)));
+    }
+
+    public void evictAfterCommit(Collection<UUID> accountIds) {
+        List<UUID> ids = List.copyOf(accountIds);
+        versions.incrementAndGet();
+        afterCommit(ids, () -> ids.forEach(entries::remove));
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void afterCommit(List<UUID> accountIds, Runnable publish) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish.run();
+            return;
+        }
+        accountIds.forEach(id -> pendingWrites.merge(id, 1, Integer::sum));
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publish.run();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                accountIds.forEach(id -> pendingWrites.computeIfPresent(id, (key, count) -> count > 1 ? count - 1 : null));
+            }
+        });
+    }
+
+    private void store(AccountDto account, long version) {
+        if (!hasRoomFor(account.getId())) {
+            return;
+        }
+        Entry fresh = new Entry(new CachedAccount(account, version, Instant.now()), System.nanoTime());
+        entries.merge(account.getId(), fresh, (current, candidate) ->
+                current.cached.getVersion() > version ? current : candidate);
+    }
+
+    private boolean hasRoomFor(UUID accountId) {
+        return entries.size() < maxSize || entries.containsKey(accountId);
+    }
+
+    private static final class Entry {
+        private final CachedAccount cached;
+        private final long loadedAt;
+
+        private Entry(CachedAccount cached, long loadedAt) {
+            this.cached = cached;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package io.bankingsystem.banking.service.support;
+
+public final class AmountHistogram {
+    private static final double GROWTH = 1.01;
+    private static final double LOG_GROWTH = Math.log(GROWTH);
+    private static final int BUCKETS = bucketOf(Long.MAX_VALUE) + 1;
+
+    private final long[] counts = new long[BUCKETS];
+    private long count;
+    private long min = Long.MAX_VALUE;
+    private long max = Long.MIN_VALUE;
+
+    public void record(long minorUnits) {
+        counts[bucketOf(minorUnits)]++;
+        count++;
+        min = Math.min(min, minorUnits);
+        max = Math.max(max, minorUnits);
+    }
+
+    public AmountHistogram merge(AmountHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] += other.counts[i];
+        }
+        count += other.count;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        return this;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public long min() {
+        return count == 0 ? 0 : min;
+    }
+
+    public long max() {
+        return count == 0 ? 0 : max;
+    }
+
+    public long percentile(double quantile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(quantile * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.max(min, Math.min(max, representative(i)));
+            }
+        }
+        return max;
+    }
+
+    private static int bucketOf(long minorUnits) {
+        return minorUnits <= 0 ? 0 : 1 + (int) Math.floor(Math.log(minorUnits) / LOG_GROWTH);
+    }
+
+    private static long representative(int bucket) {
+        return bucket == 0 ? 0 : Math.round(Math.pow(GROWTH, bucket - 0.5));
+    }
+}
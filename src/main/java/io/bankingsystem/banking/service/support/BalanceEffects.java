@@ -0,0 +1,38 @@
+package io.bankingsystem.banking.service.support;
+
+import io.bankingsystem.banking.model.entity.TransactionEntity;
+import io.bankingsystem.banking.model.enum_fields.TransactionType;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.UUID;
+
+public final class BalanceEffects {
+
+    private BalanceEffects() {
+    }
+
+    public static void accumulate(Map<UUID, BigDecimal> deltas, TransactionEntity transaction) {
+        BigDecimal sourceChange = sourceChange(transaction);
+        if (sourceChange.signum() != 0) {
+            deltas.merge(transaction.getAccount().getId(), sourceChange, BigDecimal::add);
+        }
+        if (transaction.getTransactionType() == TransactionType.TRANSFER) {
+            deltas.merge(UUID.fromString(transaction.getTransactionDestination()), transaction.getTransactionAmount(), BigDecimal::add);
+        }
+    }
+
+    public static BigDecimal sourceChange(TransactionEntity transaction) {
+        switch (transaction.getTransactionType()) {
+            case DEPOSIT:
+                return transaction.getTransactionAmount();
+
+            case WITHDRAWAL:
+            case TRANSFER:
+                return transaction.getTransactionAmount().negate();
+
+            default:
+                return BigDecimal.ZERO;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package io.bankingsystem.banking.service.support;
+
+import io.bankingsystem.banking.model.dto.AccountDto;
+
+import java.time.Instant;
+
+public final class CachedAccount {
+    private final AccountDto account;
+    private final long version;
+    private final Instant asOf;
+
+    CachedAccount(AccountDto account, long version, Instant asOf) {
+        this.account = account;
+        this.version = version;
+        this.asOf = asOf;
+    }
+
+    public AccountDto getAccount() {
+        return account;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public Instant getAsOf() {
+        return asOf;
+    }
+}
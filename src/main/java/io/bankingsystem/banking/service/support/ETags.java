@@ -0,0 +1,56 @@
+package io.bankingsystem.banking.service.support;
+
+import io.bankingsystem.banking.model.dto.EntityVersionDto;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HexFormat;
+
+public final class ETags {
+    private static final String WEAK_PREFIX = "W/";
+
+    private ETags() {
+    }
+
+    @SafeVarargs
+    public static String of(String resource, Collection<EntityVersionDto>... parts) {
+        MessageDigest digest = sha256();
+        digest.update(resource.getBytes(StandardCharsets.UTF_8));
+        for (Collection<EntityVersionDto> part : parts) {
+            digest.update((byte) '|');
+            for (EntityVersionDto stamp : part) {
+                digest.update((stamp.getId() + ":" + stamp.getVersion() + ";").getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        return "\"" + HexFormat.of().formatHex(digest.digest(), 0, 16) + "\"";
+    }
+
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith(WEAK_PREFIX)) {
+                tag = tag.substring(WEAK_PREFIX.length());
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package io.bankingsystem.banking.service.support;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Properties requested through a {@code fields=} parameter, each paired with the entity path
+ * that has to be selected for it.
+ */
+public final class FieldSet {
+    private final List<String> names;
+    private final List<String> paths;
+
+    private FieldSet(List<String> names, List<String> paths) {
+        this.names = names;
+        this.paths = paths;
+    }
+
+    public static FieldSet parse(String fields, Map<String, String> selectable) {
+        Set<String> requested = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!selectable.containsKey(name)) {
+                throw new IllegalArgumentException("Unknown field: " + name);
+            }
+            requested.add(name);
+        }
+        if (requested.isEmpty()) {
+            throw new IllegalArgumentException("At least one field must be requested");
+        }
+        List<String> names = List.copyOf(requested);
+        List<String> paths = new ArrayList<>(names.size());
+        for (String name : names) {
+            paths.add(selectable.get(name));
+        }
+        return new FieldSet(names, List.copyOf(paths));
+    }
+
+    public List<String> names() {
+        return names;
+    }
+
+    public List<String> paths() {
+        return paths;
+    }
+
+    public String key() {
+        return String.join(",", names);
+    }
+}
@@ -0,0 +1,22 @@
+package io.bankingsystem.banking.service.support;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+
+public final class InClauseBatches {
+    public static final int BATCH_SIZE = 1000;
+
+    private InClauseBatches() {
+    }
+
+    public static <I, T> List<T> load(Collection<I> ids, Function<List<I>, List<T>> query) {
+        List<I> distinctIds = ids.stream().distinct().toList();
+        List<T> results = new ArrayList<>();
+        for (int from = 0; from < distinctIds.size(); from += BATCH_SIZE) {
+            results.addAll(query.apply(distinctIds.subList(from, Math.min(from + BATCH_SIZE, distinctIds.size()))));
+        }
+        return results;
+    }
+}
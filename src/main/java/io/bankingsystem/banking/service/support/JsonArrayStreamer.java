@@ -0,0 +1,82 @@
+package io.bankingsystem.banking.service.support;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Writes a JSON array chunk by chunk: each chunk of rows is loaded by id after the previous one,
+ * mapped, written and flushed, and the persistence context is cleared before the next, so memory
+ * stays bounded by the chunk size however many rows there are.
+ */
+@Component
+public class JsonArrayStreamer {
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Limit chunkLimit;
+
+    public JsonArrayStreamer(ObjectMapper objectMapper, EntityManager entityManager, PlatformTransactionManager transactionManager,
+                             @Value("${banking.streaming.chunk-size:500}") int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Streaming chunk size must be at least 1");
+        }
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.chunkLimit = Limit.of(chunkSize);
+    }
+
+    /**
+     * @param nextChunk loads up to {@code limit} rows ordered by id with an id greater than the given one
+     *                  ({@code null} for the first chunk)
+     */
+    public <E, D> void write(OutputStream outputStream, Class<D> type, BiFunction<UUID, Limit, List<E>> nextChunk,
+                             Function<E, UUID> idOf, Function<List<E>, List<D>> toDtos) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(type).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.writeStartArray();
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                UUID after = null;
+                List<E> chunk;
+                do {
+                    chunk = nextChunk.apply(after, chunkLimit);
+                    try {
+                        for (D dto : toDtos.apply(chunk)) {
+                            writer.writeValue(generator, dto);
+                        }
+                        generator.flush();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    if (!chunk.isEmpty()) {
+                        after = idOf.apply(chunk.get(chunk.size() - 1));
+                    }
+                    entityManager.clear();
+                } while (chunk.size() == chunkLimit.max());
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        generator.writeEndArray();
+        generator.close();
+    }
+}
@@ -0,0 +1,46 @@
+package io.bankingsystem.banking.service.support;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+@Component
+public class LockRetryExecutor {
+    private final int maxAttempts;
+    private final long backoffMillis;
+
+    public LockRetryExecutor(@Value("${banking.transactions.lock-retry.max-attempts:3}") int maxAttempts,
+                             @Value("${banking.transactions.lock-retry.backoff-ms:25}") long backoffMillis) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("Lock retry attempts must be at least 1");
+        }
+        this.maxAttempts = maxAttempts;
+        this.backoffMillis = backoffMillis;
+    }
+
+    public <T> T execute(Supplier<T> action) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return action.get();
+            } catch (PessimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                backoff(attempt);
+            }
+        }
+    }
+
+    private void backoff(int attempt) {
+        long delay = backoffMillis * (1L << (attempt - 1));
+        try {
+            Thread.sleep(delay + ThreadLocalRandom.current().nextLong(backoffMillis + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to retry account lock", e);
+        }
+    }
+}
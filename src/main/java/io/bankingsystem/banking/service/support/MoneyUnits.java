@@ -0,0 +1,22 @@
+package io.bankingsystem.banking.service.support;
+
+import java.math.BigDecimal;
+
+public final class MoneyUnits {
+    public static final int SCALE = 2;
+
+    private MoneyUnits() {
+    }
+
+    public static long toMinorUnits(BigDecimal amount) {
+        try {
+            return amount.movePointRight(SCALE).longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Amount must have at most " + SCALE + " decimal places: " + amount);
+        }
+    }
+
+    public static BigDecimal fromMinorUnits(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+}
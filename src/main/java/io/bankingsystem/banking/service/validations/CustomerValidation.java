@@ -1,6 +1,7 @@
 package io.bankingsystem.banking.service.validations;
 
 import io.bankingsystem.banking.model.dto.CustomerDto;
+import io.bankingsystem.banking.service.auth.PasswordHashingService;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
@@ -11,6 +12,22 @@ import java.util.regex.Pattern;
 public class CustomerValidation {
 
     public void validateCustomerDto(CustomerDto customerDto) {
+        validateCustomerDetails(customerDto);
+        if (customerDto.getCustomerPassword() == null || customerDto.getCustomerPassword().isEmpty()) {
+            throw new IllegalArgumentException("Customer password is required");
+        }
+        validatePassword(customerDto.getCustomerPassword());
+    }
+
+    // On update the password may be left out, or be the stored hash sent back, to keep it unchanged.
+    public void validateCustomerUpdateDto(CustomerDto customerDto, String currentPasswordHash) {
+        validateCustomerDetails(customerDto);
+        if (!PasswordHashingService.isUnchanged(customerDto.getCustomerPassword(), currentPasswordHash)) {
+            validatePassword(customerDto.getCustomerPassword());
+        }
+    }
+
+    private void validateCustomerDetails(CustomerDto customerDto) {
         if (customerDto.getCustomerFirstName() == null || customerDto.getCustomerFirstName().isEmpty()) {
             throw new IllegalArgumentException("Customer first name is required");
         }
@@ -34,10 +51,6 @@ public class CustomerValidation {
         if (customerDto.getCustomerAddress() == null || customerDto.getCustomerAddress().isEmpty()) {
             throw new IllegalArgumentException("Customer address is required");
         }
-        if (customerDto.getCustomerPassword() == null || customerDto.getCustomerPassword().isEmpty()) {
-            throw new IllegalArgumentException("Customer password is required");
-        }
-        validatePassword(customerDto.getCustomerPassword());
     }
 
     public void validatePassword(String password) {
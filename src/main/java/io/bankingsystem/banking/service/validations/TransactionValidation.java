@@ -21,14 +21,36 @@ public class TransactionValidation {
     }
 
     public void validateTransactionDto(TransactionDto transactionDto) {
+        validateTransactionFields(transactionDto);
+        validateSourceAccount(transactionDto.getAccountId());
+
+        if (transactionDto.getTransactionType() == TransactionType.TRANSFER) {
+            validateTransferDestination(transactionDto.getTransactionDestination());
+        }
+    }
+
+    public void validateTransactionFields(TransactionDto transactionDto) {
         validateAmount(transactionDto.getTransactionAmount());
         validateType(transactionDto.getTransactionType());
         validateDate(transactionDto.getTransactionDate());
-        validateSourceAccount(transactionDto.getAccountId());
         validateDescriptionAndDestination(transactionDto);
 
+        if (transactionDto.getAccountId() == null) {
+            throw new IllegalArgumentException("Account ID must not be null");
+        }
         if (transactionDto.getTransactionType() == TransactionType.TRANSFER) {
-            validateTransferDestination(transactionDto.getTransactionDestination());
+            parseTransferDestination(transactionDto.getTransactionDestination());
+        }
+    }
+
+    public UUID parseTransferDestination(String destinationId) {
+        if (destinationId == null || destinationId.trim().isEmpty()) {
+            throw new IllegalArgumentException("Transfer destination required");
+        }
+        try {
+            return UUID.fromString(destinationId);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid destination account ID format");
         }
     }
 
@@ -0,0 +1,8 @@
+package io.bankingsystem.banking.controller;
+
+import org.springframework.test.context.TestPropertySource;
+
+// The same hot-account load through the in-memory ledger engine instead of database row locks.
+@TestPropertySource(properties = {"banking.ledger.enabled=true", "banking.ledger.partitions=4"})
+class LedgerTransactionLoadTest extends TransactionLoadTest {
+}
@@ -0,0 +1,158 @@
+package io.bankingsystem.banking.controller;
+
+import io.bankingsystem.banking.model.entity.AccountEntity;
+import io.bankingsystem.banking.model.entity.CustomerEntity;
+import io.bankingsystem.banking.model.enum_fields.AccountStatus;
+import io.bankingsystem.banking.model.enum_fields.AccountType;
+import io.bankingsystem.banking.model.enum_fields.CustomerRole;
+import io.bankingsystem.banking.repository.AccountRepository;
+import io.bankingsystem.banking.repository.CustomerRepository;
+import io.bankingsystem.banking.service.ledger.LedgerPersister;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Many clients moving money between a few accounts at once: every transfer either happens completely or not
+// at all, so the accounts always add up to what they started with.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class TransactionConcurrencyTest {
+    private static final int CLIENTS = 64;
+    private static final int TRANSFERS_PER_CLIENT = 20;
+    private static final int ACCOUNTS = 8;
+    private static final BigDecimal OPENING_BALANCE = new BigDecimal("100.00");
+    private static final Set<HttpStatus> EXPECTED_REJECTIONS = Set.of(HttpStatus.BAD_REQUEST, HttpStatus.SERVICE_UNAVAILABLE);
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private ObjectProvider<LedgerPersister> ledgerPersister;
+
+    @Test
+    void concurrentTransfersConserveTheTotalBalance() throws Exception {
+        List<UUID> accountIds = createAccounts();
+        HttpHeaders headers = bearerHeaders();
+        Map<UUID, BigDecimal> expectedBalances = new ConcurrentHashMap<>();
+        AtomicInteger created = new AtomicInteger();
+        accountIds.forEach(id -> expectedBalances.put(id, OPENING_BALANCE));
+
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<String>>> results = new ArrayList<>();
+        for (int client = 0; client < CLIENTS; client++) {
+            results.add(clients.submit(() -> {
+                start.await();
+                List<String> unexpected = new ArrayList<>();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < TRANSFERS_PER_CLIENT; i++) {
+                    UUID source = accountIds.get(random.nextInt(ACCOUNTS));
+                    UUID destination = accountIds.get(random.nextInt(ACCOUNTS));
+                    if (source.equals(destination)) {
+                        continue;
+                    }
+                    BigDecimal amount = BigDecimal.valueOf(random.nextInt(1, 40));
+                    ResponseEntity<String> response = restTemplate.postForEntity("/transactions/create", new HttpEntity<>(Map.of(
+                            "transactionType", "TRANSFER",
+                            "transactionAmount", amount,
+                            "accountId", source,
+                            "transactionDestination", destination.toString()), headers), String.class);
+                    if (response.getStatusCode() == HttpStatus.CREATED) {
+                        created.incrementAndGet();
+                        expectedBalances.merge(source, amount.negate(), BigDecimal::add);
+                        expectedBalances.merge(destination, amount, BigDecimal::add);
+                    } else if (!EXPECTED_REJECTIONS.contains(HttpStatus.valueOf(response.getStatusCode().value()))) {
+                        unexpected.add(response.getStatusCode() + " " + response.getBody());
+                    }
+                }
+                return unexpected;
+            }));
+        }
+        start.countDown();
+        List<String> unexpected = new ArrayList<>();
+        for (Future<List<String>> result : results) {
+            unexpected.addAll(result.get(5, TimeUnit.MINUTES));
+        }
+        clients.shutdown();
+        ledgerPersister.ifAvailable(LedgerPersister::flushAll);
+
+        assertThat(unexpected).isEmpty();
+        assertThat(created.get()).isGreaterThan(CLIENTS);
+        BigDecimal total = BigDecimal.ZERO;
+        for (AccountEntity account : accountRepository.findAllById(accountIds)) {
+            assertThat(account.getAccountCurrentBalance()).isGreaterThanOrEqualTo(BigDecimal.ZERO);
+            assertThat(account.getAccountCurrentBalance()).isEqualByComparingTo(expectedBalances.get(account.getId()));
+            total = total.add(account.getAccountCurrentBalance());
+        }
+        assertThat(total).isEqualByComparingTo(OPENING_BALANCE.multiply(BigDecimal.valueOf(ACCOUNTS)));
+    }
+
+    private List<UUID> createAccounts() {
+        CustomerEntity customer = new CustomerEntity();
+        customer.setCustomerFirstName("Stress");
+        customer.setCustomerLastName("Test");
+        customer.setCustomerDateOfBirth(LocalDate.of(1990, 1, 1));
+        customer.setCustomerEmail("stress-" + System.nanoTime() + "@banking.test");
+        customer.setCustomerPhoneNumber("+100000");
+        customer.setCustomerAddress("Test street");
+        customer.setCustomerPassword("unused");
+        customer.setCustomerRole(CustomerRole.CUSTOMER);
+        CustomerEntity savedCustomer = customerRepository.save(customer);
+
+        List<UUID> accountIds = new ArrayList<>();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            AccountEntity account = new AccountEntity();
+            account.setAccountNumber(String.valueOf(ThreadLocalRandom.current().nextLong(10_000_000L, 100_000_000L)));
+            account.setAccountType(AccountType.CHECKING);
+            account.setAccountCurrentBalance(OPENING_BALANCE);
+            account.setAccountDateOpened(LocalDateTime.now());
+            account.setAccountStatus(AccountStatus.ACTIVE);
+            account.setCustomer(savedCustomer);
+            accountIds.add(accountRepository.save(account).getId());
+        }
+        return accountIds;
+    }
+
+    private HttpHeaders bearerHeaders() {
+        ResponseEntity<Map> login = restTemplate.postForEntity("/auth/login",
+                Map.of("email", "admin@banking.test", "password", "Adm1n!pass"), Map.class);
+        assertThat(login.getStatusCode()).isEqualTo(HttpStatus.OK);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setBearerAuth((String) login.getBody().get("accessToken"));
+        return headers;
+    }
+}
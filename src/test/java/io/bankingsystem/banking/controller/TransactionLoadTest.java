@@ -0,0 +1,186 @@
+package io.bankingsystem.banking.controller;
+
+import io.bankingsystem.banking.model.entity.AccountEntity;
+import io.bankingsystem.banking.model.entity.CustomerEntity;
+import io.bankingsystem.banking.model.enum_fields.AccountStatus;
+import io.bankingsystem.banking.model.enum_fields.AccountType;
+import io.bankingsystem.banking.model.enum_fields.CustomerRole;
+import io.bankingsystem.banking.repository.AccountRepository;
+import io.bankingsystem.banking.repository.CustomerRepository;
+import io.bankingsystem.banking.service.ledger.LedgerPersister;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Load on one hot account, like a merchant account taking deposits and paying out to a few payees. Logs the
+// throughput and latency of the synchronous JPA path; LedgerTransactionLoadTest runs the same load through the
+// ledger engine so the two can be compared.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class TransactionLoadTest {
+    private static final Logger log = LoggerFactory.getLogger(TransactionLoadTest.class);
+    private static final int CLIENTS = 32;
+    private static final int WARMUP_POSTINGS_PER_CLIENT = 20;
+    private static final int POSTINGS_PER_CLIENT = 100;
+    private static final int PAYEES = 8;
+    private static final BigDecimal HOT_OPENING_BALANCE = new BigDecimal("1000000.00");
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private ObjectProvider<LedgerPersister> ledgerPersister;
+
+    @Test
+    void hotAccountLoad() throws Exception {
+        UUID customerId = createCustomer();
+        UUID hot = createAccount(customerId, HOT_OPENING_BALANCE);
+        List<UUID> payees = new ArrayList<>();
+        for (int i = 0; i < PAYEES; i++) {
+            payees.add(createAccount(customerId, BigDecimal.ZERO));
+        }
+        HttpHeaders headers = bearerHeaders();
+        Map<UUID, BigDecimal> expectedBalances = new ConcurrentHashMap<>();
+        expectedBalances.put(hot, HOT_OPENING_BALANCE);
+        payees.forEach(id -> expectedBalances.put(id, BigDecimal.ZERO));
+
+        run(hot, payees, headers, WARMUP_POSTINGS_PER_CLIENT, expectedBalances);
+        long started = System.nanoTime();
+        long[] latencies = run(hot, payees, headers, POSTINGS_PER_CLIENT, expectedBalances);
+        long elapsed = System.nanoTime() - started;
+        long flushStarted = System.nanoTime();
+        ledgerPersister.ifAvailable(LedgerPersister::flushAll);
+        long flushElapsed = System.nanoTime() - flushStarted;
+
+        Arrays.sort(latencies);
+        log.info("{}: {} postings from {} clients in {} ms, {} postings/s, latency p50={} ms p99={} ms max={} ms, final flush {} ms",
+                getClass().getSimpleName(), latencies.length, CLIENTS, TimeUnit.NANOSECONDS.toMillis(elapsed),
+                latencies.length * 1_000_000_000L / elapsed, millis(percentile(latencies, 50)),
+                millis(percentile(latencies, 99)), millis(latencies[latencies.length - 1]),
+                TimeUnit.NANOSECONDS.toMillis(flushElapsed));
+
+        for (AccountEntity account : accountRepository.findAllById(expectedBalances.keySet())) {
+            assertThat(account.getAccountCurrentBalance()).isEqualByComparingTo(expectedBalances.get(account.getId()));
+        }
+    }
+
+    // Every posting must succeed: the hot account never runs short, so any other status is a failure.
+    private long[] run(UUID hot, List<UUID> payees, HttpHeaders headers, int postingsPerClient,
+                       Map<UUID, BigDecimal> expectedBalances) throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<long[]>> results = new ArrayList<>();
+        for (int client = 0; client < CLIENTS; client++) {
+            results.add(clients.submit(() -> {
+                start.await();
+                long[] latencies = new long[postingsPerClient];
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < postingsPerClient; i++) {
+                    BigDecimal amount = BigDecimal.valueOf(random.nextInt(1, 10));
+                    UUID payee = random.nextBoolean() ? payees.get(random.nextInt(PAYEES)) : null;
+                    Map<String, Object> body = payee == null
+                            ? Map.of("transactionType", "DEPOSIT", "transactionAmount", amount, "accountId", hot)
+                            : Map.of("transactionType", "TRANSFER", "transactionAmount", amount, "accountId", hot,
+                                    "transactionDestination", payee.toString());
+
+                    long sent = System.nanoTime();
+                    ResponseEntity<String> response = restTemplate.postForEntity("/transactions/create",
+                            new HttpEntity<>(body, headers), String.class);
+                    latencies[i] = System.nanoTime() - sent;
+
+                    assertThat(response.getStatusCode()).as(response.getBody()).isEqualTo(HttpStatus.CREATED);
+                    if (payee == null) {
+                        expectedBalances.merge(hot, amount, BigDecimal::add);
+                    } else {
+                        expectedBalances.merge(hot, amount.negate(), BigDecimal::add);
+                        expectedBalances.merge(payee, amount, BigDecimal::add);
+                    }
+                }
+                return latencies;
+            }));
+        }
+        start.countDown();
+        long[] all = new long[CLIENTS * postingsPerClient];
+        for (int client = 0; client < CLIENTS; client++) {
+            System.arraycopy(results.get(client).get(5, TimeUnit.MINUTES), 0, all, client * postingsPerClient, postingsPerClient);
+        }
+        clients.shutdown();
+        return all;
+    }
+
+    private static long percentile(long[] sorted, int percentile) {
+        return sorted[Math.min(sorted.length - 1, sorted.length * percentile / 100)];
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.2f", nanos / 1_000_000.0);
+    }
+
+    private UUID createCustomer() {
+        CustomerEntity customer = new CustomerEntity();
+        customer.setCustomerFirstName("Load");
+        customer.setCustomerLastName("Test");
+        customer.setCustomerDateOfBirth(LocalDate.of(1990, 1, 1));
+        customer.setCustomerEmail("load-" + System.nanoTime() + "@banking.test");
+        customer.setCustomerPhoneNumber("+100000");
+        customer.setCustomerAddress("Test street");
+        customer.setCustomerPassword("unused");
+        customer.setCustomerRole(CustomerRole.CUSTOMER);
+        return customerRepository.save(customer).getId();
+    }
+
+    private UUID createAccount(UUID customerId, BigDecimal openingBalance) {
+        AccountEntity account = new AccountEntity();
+        account.setAccountNumber(String.valueOf(ThreadLocalRandom.current().nextLong(10_000_000L, 100_000_000L)));
+        account.setAccountType(AccountType.CHECKING);
+        account.setAccountCurrentBalance(openingBalance);
+        account.setAccountDateOpened(LocalDateTime.now());
+        account.setAccountStatus(AccountStatus.ACTIVE);
+        account.setCustomer(customerRepository.getReferenceById(customerId));
+        return accountRepository.save(account).getId();
+    }
+
+    private HttpHeaders bearerHeaders() {
+        ResponseEntity<Map> login = restTemplate.postForEntity("/auth/login",
+                Map.of("email", "admin@banking.test", "password", "Adm1n!pass"), Map.class);
+        assertThat(login.getStatusCode()).isEqualTo(HttpStatus.OK);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setBearerAuth((String) login.getBody().get("accessToken"));
+        return headers;
+    }
+}
@@ -0,0 +1,127 @@
+package io.bankingsystem.banking.service.services;
+
+import io.bankingsystem.banking.model.entity.AccountEntity;
+import io.bankingsystem.banking.model.entity.CardEntity;
+import io.bankingsystem.banking.model.entity.CardTypeEntity;
+import io.bankingsystem.banking.model.entity.CustomerEntity;
+import io.bankingsystem.banking.model.enum_fields.AccountStatus;
+import io.bankingsystem.banking.model.enum_fields.AccountType;
+import io.bankingsystem.banking.model.enum_fields.CardTypeName;
+import io.bankingsystem.banking.model.enum_fields.CustomerRole;
+import io.bankingsystem.banking.repository.AccountRepository;
+import io.bankingsystem.banking.repository.CardRepository;
+import io.bankingsystem.banking.repository.CardTypeRepository;
+import io.bankingsystem.banking.repository.CustomerRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The aggregate reads load each level (customers, accounts, cards) with one query per IN-clause batch, so the
+// number of statements must not grow with the number of rows.
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class AggregateQueryCountTest {
+    private static final int SMALL = 3;
+    private static final int LARGE = 60;
+
+    private final AtomicLong sequence = new AtomicLong(System.nanoTime() % 1_000_000L);
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private CardRepository cardRepository;
+
+    @Autowired
+    private CardTypeRepository cardTypeRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void statementCountDoesNotDependOnDataSize() {
+        CardTypeEntity cardType = cardTypeRepository.save(new CardTypeEntity(null, CardTypeName.DEBIT_CARD));
+
+        createCustomers(SMALL, cardType);
+        Map<String, Long> small = countStatements();
+
+        createCustomers(LARGE, cardType);
+        Map<String, Long> large = countStatements();
+
+        assertThat(small.values()).allSatisfy(count -> assertThat(count).isPositive());
+        assertThat(large).isEqualTo(small);
+    }
+
+    private Map<String, Long> countStatements() {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        counts.put("/customers/accounts/cards", countStatements(customerService::getCustomersAccountsCards));
+        counts.put("getCustomersWithAccounts", countStatements(customerService::getCustomersWithAccounts));
+        counts.put("getAccountsWithCards", countStatements(accountService::getAccountsWithCards));
+        return counts;
+    }
+
+    private long countStatements(Runnable read) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        read.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void createCustomers(int count, CardTypeEntity cardType) {
+        for (int i = 0; i < count; i++) {
+            CustomerEntity customer = new CustomerEntity();
+            customer.setCustomerFirstName("Query");
+            customer.setCustomerLastName("Count");
+            customer.setCustomerDateOfBirth(LocalDate.of(1990, 1, 1));
+            customer.setCustomerEmail("query-" + sequence.incrementAndGet() + "@banking.test");
+            customer.setCustomerPhoneNumber("+100000");
+            customer.setCustomerAddress("Test street");
+            customer.setCustomerPassword("unused");
+            customer.setCustomerRole(CustomerRole.CUSTOMER);
+            CustomerEntity savedCustomer = customerRepository.save(customer);
+
+            for (int j = 0; j < 2; j++) {
+                AccountEntity account = new AccountEntity();
+                account.setAccountNumber(String.valueOf(sequence.incrementAndGet()));
+                account.setAccountType(AccountType.SAVINGS);
+                account.setAccountCurrentBalance(BigDecimal.TEN);
+                account.setAccountDateOpened(LocalDateTime.now());
+                account.setAccountStatus(AccountStatus.ACTIVE);
+                account.setCustomer(savedCustomer);
+                AccountEntity savedAccount = accountRepository.save(account);
+
+                CardEntity card = new CardEntity();
+                card.setCardNumber(String.format("%016d", sequence.incrementAndGet()));
+                card.setCardExpiryDate(LocalDate.now().plusYears(3));
+                card.setCardCvv("123");
+                card.setCardType(cardType);
+                card.setAccount(savedAccount);
+                cardRepository.save(card);
+            }
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package io.bankingsystem.banking.service.services;
+
+import io.bankingsystem.banking.model.dto.TransactionDto;
+import io.bankingsystem.banking.model.entity.AccountEntity;
+import io.bankingsystem.banking.model.entity.CustomerEntity;
+import io.bankingsystem.banking.model.enum_fields.AccountStatus;
+import io.bankingsystem.banking.model.enum_fields.AccountType;
+import io.bankingsystem.banking.model.enum_fields.CustomerRole;
+import io.bankingsystem.banking.model.enum_fields.TransactionType;
+import io.bankingsystem.banking.repository.AccountRepository;
+import io.bankingsystem.banking.repository.CustomerRepository;
+import io.bankingsystem.banking.repository.IdempotencyKeyRepository;
+import io.bankingsystem.banking.repository.TransactionReadRepository;
+import io.bankingsystem.banking.repository.TransactionRepository;
+import io.bankingsystem.banking.service.ledger.LedgerEngine;
+import io.bankingsystem.banking.service.mappings.AccountMapping;
+import io.bankingsystem.banking.service.mappings.TransactionMapping;
+import io.bankingsystem.banking.service.support.AccountBalanceCache;
+import io.bankingsystem.banking.service.support.LockRetryExecutor;
+import io.bankingsystem.banking.service.validations.TransactionValidation;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Two application instances share the database but not their in-memory idempotency state, so only the unique
+// key row can stop a request that both of them receive from being posted twice.
+@SpringBootTest
+@ActiveProfiles("test")
+class IdempotencyKeyConcurrencyTest {
+    private static final int ROUNDS = 20;
+    private static final BigDecimal OPENING_BALANCE = new BigDecimal("100.00");
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionReadRepository transactionReadRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private TransactionMapping transactionMapping;
+
+    @Autowired
+    private TransactionValidation transactionValidation;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private LockRetryExecutor lockRetryExecutor;
+
+    @Autowired
+    private ObjectProvider<LedgerEngine> ledgerEngine;
+
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Autowired
+    private AccountMapping accountMapping;
+
+    @Autowired
+    private AccountBalanceCache accountBalanceCache;
+
+    @Test
+    void sameKeyOnTwoInstancesPostsOnce() throws Exception {
+        UUID accountId = createAccount();
+        List<TransactionService> instances = List.of(newInstance(), newInstance());
+        ExecutorService executor = Executors.newFixedThreadPool(instances.size());
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                String key = "race-" + accountId + "-" + round;
+                CyclicBarrier start = new CyclicBarrier(instances.size());
+                List<Future<TransactionDto>> results = new ArrayList<>();
+                for (TransactionService instance : instances) {
+                    results.add(executor.submit(() -> {
+                        start.await();
+                        return instance.createTransaction(deposit(accountId), key);
+                    }));
+                }
+                UUID first = results.get(0).get(30, TimeUnit.SECONDS).getId();
+                UUID second = results.get(1).get(30, TimeUnit.SECONDS).getId();
+                assertThat(second).isEqualTo(first);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(transactionRepository.findByAccountId(accountId)).hasSize(ROUNDS);
+        assertThat(accountRepository.findById(accountId).orElseThrow().getAccountCurrentBalance())
+                .isEqualByComparingTo(OPENING_BALANCE.add(BigDecimal.valueOf(ROUNDS)));
+    }
+
+    private TransactionService newInstance() {
+        return new TransactionService(transactionRepository, transactionReadRepository, accountRepository, transactionMapping,
+                transactionValidation, transactionTemplate, lockRetryExecutor, ledgerEngine, idempotencyKeyRepository,
+                accountMapping, accountBalanceCache, 100, 60);
+    }
+
+    private TransactionDto deposit(UUID accountId) {
+        TransactionDto transaction = new TransactionDto();
+        transaction.setTransactionType(TransactionType.DEPOSIT);
+        transaction.setTransactionAmount(BigDecimal.ONE);
+        transaction.setAccountId(accountId);
+        return transaction;
+    }
+
+    private UUID createAccount() {
+        CustomerEntity customer = new CustomerEntity();
+        customer.setCustomerFirstName("Idempotency");
+        customer.setCustomerLastName("Race");
+        customer.setCustomerDateOfBirth(LocalDate.of(1990, 1, 1));
+        customer.setCustomerEmail("race-" + System.nanoTime() + "@banking.test");
+        customer.setCustomerPhoneNumber("+100000");
+        customer.setCustomerAddress("Test street");
+        customer.setCustomerPassword("unused");
+        customer.setCustomerRole(CustomerRole.CUSTOMER);
+        CustomerEntity savedCustomer = customerRepository.save(customer);
+
+        AccountEntity account = new AccountEntity();
+        account.setAccountNumber(String.valueOf(System.nanoTime() % 100_000_000L));
+        account.setAccountType(AccountType.SAVINGS);
+        account.setAccountCurrentBalance(OPENING_BALANCE);
+        account.setAccountDateOpened(LocalDateTime.now());
+        account.setAccountStatus(AccountStatus.ACTIVE);
+        account.setCustomer(savedCustomer);
+        return accountRepository.save(account).getId();
+    }
+}